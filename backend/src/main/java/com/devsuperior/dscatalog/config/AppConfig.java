@@ -1,15 +1,24 @@
 package com.devsuperior.dscatalog.config;
 
+import com.devsuperior.dscatalog.config.crypto.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${dscatalog.security.password-hashing.threads}") Integer threads,
+            @Value("${dscatalog.security.password-hashing.queue-capacity}") Integer queueCapacity,
+            @Value("${dscatalog.security.password-hashing.retry-after}") Duration retryAfter
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, retryAfter);
     }
 }
@@ -1,27 +1,37 @@
 package com.devsuperior.dscatalog.config;
 
+import com.devsuperior.dscatalog.config.authorization.ExpiringOAuth2AuthorizationService;
+import com.devsuperior.dscatalog.config.authorization.PersistentOAuth2AuthorizationService;
 import com.devsuperior.dscatalog.config.customgrant.CustomPasswordAuthenticationConverter;
 import com.devsuperior.dscatalog.config.customgrant.CustomPasswordAuthenticationProvider;
 import com.devsuperior.dscatalog.config.customgrant.CustomUserAuthorities;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
+import com.devsuperior.dscatalog.config.crypto.PasswordHashingUnavailableFilter;
+import com.devsuperior.dscatalog.config.jwk.KeystoreSigningKeySource;
+import com.devsuperior.dscatalog.config.jwk.RotatingSigningKeySource;
+import com.devsuperior.dscatalog.config.jwk.SigningKeySource;
+import com.devsuperior.dscatalog.repositories.SigningKeyRepository;
+import com.devsuperior.dscatalog.repositories.StoredAuthorizationRepository;
+import com.devsuperior.dscatalog.services.cache.VerifiedJwtCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.encrypt.Encryptors;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.OAuth2Token;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationConsentService;
-import org.springframework.security.oauth2.server.authorization.InMemoryOAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationConsentService;
 import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
 import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
@@ -36,11 +46,9 @@ import org.springframework.security.oauth2.server.authorization.settings.OAuth2T
 import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
 import org.springframework.security.oauth2.server.authorization.token.*;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
@@ -69,7 +77,11 @@ public class AuthorizationServerConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain asSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain asSecurityFilterChain(
+            HttpSecurity http,
+            OAuth2AuthorizationService authorizationService,
+            OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator
+    ) throws Exception {
 
         System.out.println("------------------");
         System.out.println(clientId);
@@ -82,17 +94,33 @@ public class AuthorizationServerConfig {
         http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
                 .tokenEndpoint(tokenEndpoint -> tokenEndpoint
                         .accessTokenRequestConverter(new CustomPasswordAuthenticationConverter())
-                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService(), tokenGenerator(), userDetailsService, passwordEncoder)));
+                        .authenticationProvider(new CustomPasswordAuthenticationProvider(authorizationService, tokenGenerator, userDetailsService, passwordEncoder)));
 
         http.oauth2ResourceServer(oauth2ResourceServer -> oauth2ResourceServer.jwt(Customizer.withDefaults()));
+        http.addFilterBefore(new PasswordHashingUnavailableFilter(), SecurityContextHolderFilter.class);
         // @formatter:on
 
         return http.build();
     }
 
     @Bean
-    public OAuth2AuthorizationService authorizationService() {
-        return new InMemoryOAuth2AuthorizationService();
+    @ConditionalOnProperty(name = "dscatalog.security.authorization-store.type", havingValue = "memory", matchIfMissing = true)
+    public ExpiringOAuth2AuthorizationService authorizationService(
+            @Value("${dscatalog.security.authorization-store.maximum-size}") Long maximumSize
+    ) {
+        return new ExpiringOAuth2AuthorizationService(maximumSize, Duration.ofSeconds(jwtDurationSeconds));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "dscatalog.security.authorization-store.type", havingValue = "database")
+    public PersistentOAuth2AuthorizationService persistentAuthorizationService(
+            StoredAuthorizationRepository storedAuthorizationRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${dscatalog.security.authorization-store.purge-batch-size}") Integer purgeBatchSize
+    ) {
+        return new PersistentOAuth2AuthorizationService(storedAuthorizationRepository, registeredClientRepository(),
+                transactionTemplate, objectMapper, Duration.ofSeconds(jwtDurationSeconds), purgeBatchSize);
     }
 
     @Bean
@@ -139,17 +167,23 @@ public class AuthorizationServerConfig {
     }
 
     @Bean
-    public OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator() {
-        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(jwkSource());
+    public OAuth2TokenGenerator<? extends OAuth2Token> tokenGenerator(
+            SigningKeySource signingKeySource,
+            OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer
+    ) {
+        NimbusJwtEncoder jwtEncoder = new NimbusJwtEncoder(signingKeySource);
         JwtGenerator jwtGenerator = new JwtGenerator(jwtEncoder);
-        jwtGenerator.setJwtCustomizer(tokenCustomizer());
+        jwtGenerator.setJwtCustomizer(tokenCustomizer);
         OAuth2AccessTokenGenerator accessTokenGenerator = new OAuth2AccessTokenGenerator();
         return new DelegatingOAuth2TokenGenerator(jwtGenerator, accessTokenGenerator);
     }
 
     @Bean
-    public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer() {
+    public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer(SigningKeySource signingKeySource) {
         return context -> {
+            // Several keys are published while a rotation overlaps: name the one that signs
+            context.getJwsHeader().keyId(signingKeySource.signingKeyId());
+
             OAuth2ClientAuthenticationToken principal = context.getPrincipal();
             CustomUserAuthorities user = (CustomUserAuthorities) principal.getDetails();
             List<String> authorities = user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
@@ -164,33 +198,37 @@ public class AuthorizationServerConfig {
     }
 
     @Bean
-    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource) {
-        return OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+    public JwtDecoder jwtDecoder(JWKSource<SecurityContext> jwkSource, VerifiedJwtCache verifiedJwtCache) {
+        return verifiedJwtCache.decoder(OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource));
     }
 
     @Bean
-    public JWKSource<SecurityContext> jwkSource() {
-        RSAKey rsaKey = generateRsa();
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return (jwkSelector, securityContext) -> jwkSelector.select(jwkSet);
-    }
-
-    private static RSAKey generateRsa() {
-        KeyPair keyPair = generateRsaKey();
-        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-        RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-        return new RSAKey.Builder(publicKey).privateKey(privateKey).keyID(UUID.randomUUID().toString()).build();
+    @ConditionalOnProperty(name = "dscatalog.security.jwk.store", havingValue = "database", matchIfMissing = true)
+    public RotatingSigningKeySource jwkSource(
+            SigningKeyRepository signingKeyRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${dscatalog.security.jwk.encryption-password}") String encryptionPassword,
+            @Value("${dscatalog.security.jwk.encryption-salt}") String encryptionSalt,
+            @Value("${dscatalog.security.jwk.rotation-period}") Duration rotationPeriod,
+            @Value("${dscatalog.security.jwk.activation-delay}") Duration activationDelay
+    ) {
+        // A default here would let anyone with the source decrypt the stored private keys
+        if (encryptionPassword.isBlank() || encryptionSalt.isBlank()) {
+            throw new IllegalStateException(
+                    "Set JWK_ENCRYPTION_PASSWORD and JWK_ENCRYPTION_SALT to store signing keys in the database");
+        }
+        return new RotatingSigningKeySource(signingKeyRepository, transactionTemplate,
+                Encryptors.delux(encryptionPassword, encryptionSalt), rotationPeriod, activationDelay,
+                Duration.ofSeconds(jwtDurationSeconds));
     }
 
-    private static KeyPair generateRsaKey() {
-        KeyPair keyPair;
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            keyPair = keyPairGenerator.generateKeyPair();
-        } catch (Exception ex) {
-            throw new IllegalStateException(ex);
-        }
-        return keyPair;
+    @Bean
+    @ConditionalOnProperty(name = "dscatalog.security.jwk.store", havingValue = "keystore")
+    public KeystoreSigningKeySource keystoreJwkSource(
+            @Value("${dscatalog.security.jwk.keystore.location}") Resource location,
+            @Value("${dscatalog.security.jwk.keystore.password}") String password,
+            @Value("${dscatalog.security.jwk.keystore.alias}") String alias
+    ) {
+        return new KeystoreSigningKeySource(location, password, alias);
     }
 }
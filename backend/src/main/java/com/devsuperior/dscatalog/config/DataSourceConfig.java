@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.config.datasource.PrimaryRoutingFilter;
+import com.devsuperior.dscatalog.config.datasource.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Only active when replica URLs are configured; otherwise Spring Boot builds its single pool as usual.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ConditionalOnExpression("!'${dscatalog.datasource.replicas.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            @Value("${dscatalog.datasource.replicas.urls}") String urls,
+            @Value("${dscatalog.datasource.replicas.username}") String username,
+            @Value("${dscatalog.datasource.replicas.password}") String password,
+            @Value("${dscatalog.datasource.replicas.maximum-pool-size}") Integer maximumPoolSize,
+            @Value("${dscatalog.datasource.replicas.connection-timeout}") Duration connectionTimeout,
+            @Value("${dscatalog.datasource.replicas.read-your-writes-window}") Duration readYourWritesWindow,
+            @Value("${spring.datasource.hikari.maximum-pool-size}") Integer primaryPoolSize,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        primary.setMaximumPoolSize(primaryPoolSize);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : Arrays.stream(urls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(username.isBlank() ? properties.determineUsername() : username)
+                    .password(username.isBlank() ? properties.determinePassword() : password)
+                    .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replicas.add(replica);
+        }
+
+        // Spring Boot only instruments pools exposed as beans, and these sit behind the router
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        });
+        return new ReadReplicaRoutingDataSource(primary, replicas, readYourWritesWindow);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        // Defers the routing decision until the transaction, and its read-only flag, has started
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimaryRoutingFilter> primaryRoutingFilter() {
+        FilterRegistrationBean<PrimaryRoutingFilter> registration = new FilterRegistrationBean<>(new PrimaryRoutingFilter());
+        // Logins and password recovery have no resource owner to key the read-your-writes window by
+        registration.addUrlPatterns("/oauth2/*", "/auth/*");
+        // Ahead of Spring Security, so client and user lookups read from the primary too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 20);
+        return registration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.config.threads.RequestConcurrencyLimitFilter;
+import com.devsuperior.dscatalog.config.threads.VirtualThreadPinningMonitor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual threads are switched on with {@code spring.threads.virtual.enabled}, which moves Tomcat
+ * handlers, the application task executor and scheduled jobs onto them.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "dscatalog.threads.pinning.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${dscatalog.threads.pinning.threshold}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            @Value("${dscatalog.threads.request-limit.max-concurrent}") Integer maxConcurrent,
+            @Value("${dscatalog.threads.request-limit.max-wait}") Duration maxWait,
+            @Value("${dscatalog.threads.request-limit.retry-after}") Duration retryAfter,
+            @Value("${spring.datasource.hikari.maximum-pool-size}") Integer maximumPoolSize,
+            ObjectMapper objectMapper
+    ) {
+        // By default a few requests per pooled connection, so the database sets the pace
+        int limit = maxConcurrent > 0 ? maxConcurrent : 2 * maximumPoolSize;
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(limit, maxWait, retryAfter, objectMapper));
+        // Ahead of Spring Security, so rejected requests skip token decoding
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,74 @@
+package com.devsuperior.dscatalog.config.authorization;
+
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.OAuth2Token;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationCode;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token helpers shared by the authorization stores.
+ */
+final class AuthorizationTokens {
+
+    private static final List<Class<? extends OAuth2Token>> TOKEN_CLASSES = List.of(
+            OAuth2AuthorizationCode.class, OAuth2AccessToken.class, OAuth2RefreshToken.class);
+
+    private AuthorizationTokens() {
+    }
+
+    /**
+     * The moment the last token of the authorization lapses; authorizations without an expiring
+     * token live for the default time to live.
+     */
+    static Instant expiresAt(OAuth2Authorization authorization, Duration defaultTimeToLive) {
+        Instant expiresAt = null;
+        for (Class<? extends OAuth2Token> tokenClass : TOKEN_CLASSES) {
+            OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+            if (token != null && token.getToken().getExpiresAt() != null
+                    && (expiresAt == null || token.getToken().getExpiresAt().isAfter(expiresAt))) {
+                expiresAt = token.getToken().getExpiresAt();
+            }
+        }
+        return expiresAt != null ? expiresAt : Instant.now().plus(defaultTimeToLive);
+    }
+
+    static List<String> values(OAuth2Authorization authorization) {
+        List<String> values = new ArrayList<>(TOKEN_CLASSES.size());
+        for (Class<? extends OAuth2Token> tokenClass : TOKEN_CLASSES) {
+            OAuth2Authorization.Token<? extends OAuth2Token> token = authorization.getToken(tokenClass);
+            if (token != null) {
+                values.add(token.getToken().getTokenValue());
+            }
+        }
+        return values;
+    }
+
+    static boolean hasToken(OAuth2Authorization authorization, String token, OAuth2TokenType tokenType) {
+        if (tokenType == null) {
+            return values(authorization).contains(token);
+        }
+        Class<? extends OAuth2Token> tokenClass = tokenClass(tokenType);
+        if (tokenClass == null) {
+            return false;
+        }
+        OAuth2Authorization.Token<? extends OAuth2Token> stored = authorization.getToken(tokenClass);
+        return stored != null && stored.getToken().getTokenValue().equals(token);
+    }
+
+    private static Class<? extends OAuth2Token> tokenClass(OAuth2TokenType tokenType) {
+        return switch (tokenType.getValue()) {
+            case OAuth2ParameterNames.CODE -> OAuth2AuthorizationCode.class;
+            case OAuth2ParameterNames.ACCESS_TOKEN -> OAuth2AccessToken.class;
+            case OAuth2ParameterNames.REFRESH_TOKEN -> OAuth2RefreshToken.class;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.devsuperior.dscatalog.config.authorization;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * In-memory authorization store bounded by size, where each authorization is evicted as soon as
+ * its last token lapses. Token values are indexed in a second cache with the same lifetime.
+ */
+public class ExpiringOAuth2AuthorizationService implements OAuth2AuthorizationService, MeterBinder {
+
+    private final Cache<String, OAuth2Authorization> authorizations;
+    private final Cache<String, IndexEntry> tokens;
+    private final Duration defaultTimeToLive;
+
+    public ExpiringOAuth2AuthorizationService(long maximumSize, Duration defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.tokens = Caffeine.newBuilder()
+                .expireAfter(new UntilExpiry<IndexEntry>(IndexEntry::expiresAt))
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+        this.authorizations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilExpiry<OAuth2Authorization>(this::expiresAt))
+                .scheduler(Scheduler.systemScheduler())
+                .evictionListener((String id, OAuth2Authorization authorization, RemovalCause cause) -> {
+                    if (authorization != null) {
+                        this.tokens.invalidateAll(AuthorizationTokens.values(authorization));
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        OAuth2Authorization previous = authorizations.getIfPresent(authorization.getId());
+        if (previous != null) {
+            tokens.invalidateAll(AuthorizationTokens.values(previous));
+        }
+        IndexEntry entry = new IndexEntry(authorization.getId(), expiresAt(authorization));
+        authorizations.put(authorization.getId(), authorization);
+        for (String value : AuthorizationTokens.values(authorization)) {
+            tokens.put(value, entry);
+        }
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        authorizations.invalidate(authorization.getId());
+        tokens.invalidateAll(AuthorizationTokens.values(authorization));
+    }
+
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return authorizations.getIfPresent(id);
+    }
+
+    @Override
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+        IndexEntry entry = tokens.getIfPresent(token);
+        if (entry == null) {
+            return null;
+        }
+        OAuth2Authorization authorization = authorizations.getIfPresent(entry.authorizationId());
+        return authorization != null && AuthorizationTokens.hasToken(authorization, token, tokenType)
+                ? authorization
+                : null;
+    }
+
+    public long size() {
+        authorizations.cleanUp();
+        return authorizations.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, authorizations, "oauth2Authorizations");
+    }
+
+    private Instant expiresAt(OAuth2Authorization authorization) {
+        return AuthorizationTokens.expiresAt(authorization, defaultTimeToLive);
+    }
+
+    private record IndexEntry(String authorizationId, Instant expiresAt) {
+    }
+
+    private record UntilExpiry<V>(Function<V, Instant> expiresAt) implements Expiry<String, V> {
+
+        @Override
+        public long expireAfterCreate(String key, V value, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), expiresAt.apply(value)).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.devsuperior.dscatalog.config.authorization;
+
+import com.devsuperior.dscatalog.entities.StoredAuthorization;
+import com.devsuperior.dscatalog.repositories.StoredAuthorizationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2AuthorizationService;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Database authorization store. Tokens are looked up through indexed SHA-256 hashes of their values
+ * and rows are purged in batches once their last token has lapsed. Only the data the password
+ * grant needs to introspect and revoke its tokens is kept; authorization attributes are not stored.
+ */
+public class PersistentOAuth2AuthorizationService implements OAuth2AuthorizationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentOAuth2AuthorizationService.class);
+
+    private static final Set<String> INSTANT_CLAIMS = Set.of(JwtClaimNames.IAT, JwtClaimNames.EXP, JwtClaimNames.NBF);
+
+    private final StoredAuthorizationRepository repository;
+    private final RegisteredClientRepository registeredClientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration defaultTimeToLive;
+    private final Integer purgeBatchSize;
+
+    public PersistentOAuth2AuthorizationService(
+            StoredAuthorizationRepository repository,
+            RegisteredClientRepository registeredClientRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            Duration defaultTimeToLive,
+            Integer purgeBatchSize
+    ) {
+        this.repository = repository;
+        this.registeredClientRepository = registeredClientRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Override
+    public void save(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        repository.save(toEntity(authorization));
+    }
+
+    @Override
+    public void remove(OAuth2Authorization authorization) {
+        Assert.notNull(authorization, "authorization cannot be null");
+        repository.deleteById(authorization.getId());
+    }
+
+    @Override
+    public OAuth2Authorization findById(String id) {
+        Assert.hasText(id, "id cannot be empty");
+        return live(repository.findById(id));
+    }
+
+    @Override
+    public OAuth2Authorization findByToken(String token, OAuth2TokenType tokenType) {
+        Assert.hasText(token, "token cannot be empty");
+        String hash = hash(token);
+        if (tokenType == null) {
+            OAuth2Authorization authorization = live(repository.findByAccessTokenHash(hash)
+                    .filter(entity -> token.equals(entity.getAccessTokenValue())));
+            return authorization != null ? authorization : live(repository.findByRefreshTokenHash(hash)
+                    .filter(entity -> token.equals(entity.getRefreshTokenValue())));
+        }
+        return switch (tokenType.getValue()) {
+            case OAuth2ParameterNames.ACCESS_TOKEN -> live(repository.findByAccessTokenHash(hash)
+                    .filter(entity -> token.equals(entity.getAccessTokenValue())));
+            case OAuth2ParameterNames.REFRESH_TOKEN -> live(repository.findByRefreshTokenHash(hash)
+                    .filter(entity -> token.equals(entity.getRefreshTokenValue())));
+            default -> null;
+        };
+    }
+
+    @Scheduled(
+            initialDelayString = "${dscatalog.security.authorization-store.purge-interval-ms}",
+            fixedDelayString = "${dscatalog.security.authorization-store.purge-interval-ms}"
+    )
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> repository.deleteExpired(now, purgeBatchSize));
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) {
+            log.debug("Purged {} expired OAuth2 authorizations", total);
+        }
+        return total;
+    }
+
+    private OAuth2Authorization live(Optional<StoredAuthorization> entity) {
+        return entity
+                .filter(stored -> stored.getExpiresAt().isAfter(Instant.now()))
+                .map(this::toAuthorization)
+                .orElse(null);
+    }
+
+    private StoredAuthorization toEntity(OAuth2Authorization authorization) {
+        StoredAuthorization entity = StoredAuthorization.builder()
+                .id(authorization.getId())
+                .registeredClientId(authorization.getRegisteredClientId())
+                .principalName(authorization.getPrincipalName())
+                .authorizationGrantType(authorization.getAuthorizationGrantType().getValue())
+                .authorizedScopes(StringUtils.collectionToCommaDelimitedString(authorization.getAuthorizedScopes()))
+                .expiresAt(AuthorizationTokens.expiresAt(authorization, defaultTimeToLive))
+                .build();
+
+        OAuth2Authorization.Token<OAuth2AccessToken> accessToken = authorization.getAccessToken();
+        if (accessToken != null) {
+            entity.setAccessTokenValue(accessToken.getToken().getTokenValue());
+            entity.setAccessTokenHash(hash(accessToken.getToken().getTokenValue()));
+            entity.setAccessTokenIssuedAt(accessToken.getToken().getIssuedAt());
+            entity.setAccessTokenExpiresAt(accessToken.getToken().getExpiresAt());
+            entity.setAccessTokenScopes(StringUtils.collectionToCommaDelimitedString(accessToken.getToken().getScopes()));
+            entity.setAccessTokenClaims(writeClaims(accessToken.getClaims()));
+            entity.setAccessTokenInvalidated(accessToken.isInvalidated());
+        }
+
+        OAuth2Authorization.Token<OAuth2RefreshToken> refreshToken = authorization.getRefreshToken();
+        if (refreshToken != null) {
+            entity.setRefreshTokenValue(refreshToken.getToken().getTokenValue());
+            entity.setRefreshTokenHash(hash(refreshToken.getToken().getTokenValue()));
+            entity.setRefreshTokenIssuedAt(refreshToken.getToken().getIssuedAt());
+            entity.setRefreshTokenExpiresAt(refreshToken.getToken().getExpiresAt());
+            entity.setRefreshTokenInvalidated(refreshToken.isInvalidated());
+        }
+        return entity;
+    }
+
+    private OAuth2Authorization toAuthorization(StoredAuthorization entity) {
+        RegisteredClient registeredClient = registeredClientRepository.findById(entity.getRegisteredClientId());
+        if (registeredClient == null) {
+            throw new DataRetrievalFailureException(
+                    "The RegisteredClient with id '" + entity.getRegisteredClientId() + "' was not found");
+        }
+
+        OAuth2Authorization.Builder builder = OAuth2Authorization.withRegisteredClient(registeredClient)
+                .id(entity.getId())
+                .principalName(entity.getPrincipalName())
+                .authorizationGrantType(new AuthorizationGrantType(entity.getAuthorizationGrantType()))
+                .authorizedScopes(StringUtils.commaDelimitedListToSet(entity.getAuthorizedScopes()));
+
+        if (entity.getAccessTokenValue() != null) {
+            OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                    entity.getAccessTokenValue(), entity.getAccessTokenIssuedAt(), entity.getAccessTokenExpiresAt(),
+                    StringUtils.commaDelimitedListToSet(entity.getAccessTokenScopes()));
+            Map<String, Object> claims = readClaims(entity.getAccessTokenClaims());
+            builder.token(accessToken, metadata -> {
+                if (claims != null) {
+                    metadata.put(OAuth2Authorization.Token.CLAIMS_METADATA_NAME, claims);
+                }
+                metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, entity.isAccessTokenInvalidated());
+            });
+        }
+
+        if (entity.getRefreshTokenValue() != null) {
+            OAuth2RefreshToken refreshToken = new OAuth2RefreshToken(entity.getRefreshTokenValue(),
+                    entity.getRefreshTokenIssuedAt(), entity.getRefreshTokenExpiresAt());
+            builder.token(refreshToken, metadata ->
+                    metadata.put(OAuth2Authorization.Token.INVALIDATED_METADATA_NAME, entity.isRefreshTokenInvalidated()));
+        }
+        return builder.build();
+    }
+
+    private String writeClaims(Map<String, Object> claims) {
+        if (claims == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(claims);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> readClaims(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            Map<String, Object> claims = new HashMap<>(objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+            }));
+            for (String name : INSTANT_CLAIMS) {
+                Object value = claims.get(name);
+                if (value instanceof String text) {
+                    claims.put(name, Instant.parse(text));
+                } else if (value instanceof Number number) {
+                    claims.put(name, Instant.ofEpochMilli((long) (number.doubleValue() * 1000)));
+                }
+            }
+            return claims;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.devsuperior.dscatalog.config.crypto;
+
+import com.devsuperior.dscatalog.services.exceptions.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the hashing of another encoder on a small pool sized to the CPU count, so a burst of logins
+ * queues for CPU instead of occupying every request thread. When the queue is full the call fails
+ * at once with {@link PasswordHashingUnavailableException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile Timer queueWait;
+    private volatile Timer encodeDuration;
+    private volatile Timer matchesDuration;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // At least one slot: with a hand-off queue a caller arriving just as a thread frees up is refused
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        AtomicInteger sequence = new AtomicInteger();
+
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, queue, task -> {
+            Thread thread = new Thread(task, "password-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeDuration);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesDuration);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        queueWait = Timer.builder("dscatalog.security.password.hash.queue.wait")
+                .description("Time a password check waited for a hashing thread")
+                .register(registry);
+        encodeDuration = hashTimer(registry, "encode");
+        matchesDuration = hashTimer(registry, "matches");
+        FunctionCounter.builder("dscatalog.security.password.hash.rejected", rejected, LongAdder::sum)
+                .description("Password checks refused because the hashing queue was full")
+                .register(registry);
+        Gauge.builder("dscatalog.security.password.hash.queue.size", this, BoundedPasswordEncoder::getQueuedCount)
+                .description("Password checks waiting for a hashing thread")
+                .register(registry);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("dscatalog.security.password.hash.duration")
+                .description("CPU time spent hashing a password")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private <T> T submit(Callable<T> hashing, Timer duration) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                record(queueWait, startedAt - queuedAt);
+                try {
+                    return hashing.call();
+                } finally {
+                    record(duration, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException(retryAfter);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void record(Timer timer, long nanos) {
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
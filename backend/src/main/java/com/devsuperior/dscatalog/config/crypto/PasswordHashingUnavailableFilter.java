@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.config.crypto;
+
+import com.devsuperior.dscatalog.services.exceptions.PasswordHashingUnavailableException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers token requests that could not get a password hashing slot with 503 and Retry-After, in
+ * the OAuth2 error format, instead of letting the exception escape the authorization server filters.
+ */
+public class PasswordHashingUnavailableFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (RuntimeException | ServletException e) {
+            PasswordHashingUnavailableException unavailable = findCause(e);
+            if (unavailable == null || response.isCommitted()) {
+                throw e;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"temporarily_unavailable\",\"error_description\":\""
+                    + unavailable.getMessage() + "\"}");
+        }
+    }
+
+    private static PasswordHashingUnavailableException findCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PasswordHashingUnavailableException unavailable) {
+                return unavailable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.config.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks work whose reads have to see writes committed just before, such as a row claimed by another
+ * transaction or a password changed a moment ago. While it runs, {@link ReadReplicaRoutingDataSource}
+ * sends read-only transactions to the primary as well. Without replicas this changes nothing.
+ */
+public final class PrimaryRouting {
+
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private PrimaryRouting() {
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        boolean entered = enter();
+        try {
+            return action.get();
+        } finally {
+            exit(entered);
+        }
+    }
+
+    static boolean isForced() {
+        return FORCED.get() != null;
+    }
+
+    /**
+     * Returns whether this call set the marker, so only the outermost caller clears it again.
+     */
+    static boolean enter() {
+        if (FORCED.get() != null) {
+            return false;
+        }
+        FORCED.set(Boolean.TRUE);
+        return true;
+    }
+
+    static void exit(boolean entered) {
+        if (entered) {
+            FORCED.remove();
+        }
+    }
+}
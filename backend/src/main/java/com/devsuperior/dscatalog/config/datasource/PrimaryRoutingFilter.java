@@ -0,0 +1,28 @@
+package com.devsuperior.dscatalog.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves a request entirely from the primary. Used for the token and password recovery endpoints,
+ * where the caller is an OAuth client or anonymous, so the read-your-writes window cannot tell whose
+ * writes a read has to see.
+ */
+public class PrimaryRoutingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean entered = PrimaryRouting.enter();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryRouting.exit(entered);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.devsuperior.dscatalog.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.authorization.authentication.OAuth2ClientAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica, round robin, and everything else
+ * to the primary. A replica that fails to hand out a connection or its periodic validity check is
+ * skipped until it passes again; with no healthy replica reads fall back to the primary. After a
+ * user's own write, that user's reads stay on the primary for the read-your-writes window, and work
+ * wrapped in {@link PrimaryRouting} never reads from a replica.
+ * <p>
+ * The routing decision is taken when the connection is requested, so this data source has to sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the proxy only
+ * asks for a connection once the transaction, and its read-only flag, has started.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWrite();
+        } else if (routesToReplica()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                replicaConnections.increment();
+                return connection;
+            }
+            fallbacks.increment();
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Explicit credentials belong to one database account, which the replicas may not share, so these
+     * connections always come from the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        recordWrite();
+        primaryConnections.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(
+            initialDelayString = "${dscatalog.datasource.replicas.health-check-interval-ms}",
+            fixedDelayString = "${dscatalog.datasource.replicas.health-check-interval-ms}"
+    )
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.setHealthy(connection.isValid(VALIDATION_TIMEOUT_SECONDS));
+            } catch (SQLException e) {
+                replica.setHealthy(false);
+            }
+        }
+    }
+
+    public long getPrimaryConnectionCount() {
+        return primaryConnections.sum();
+    }
+
+    public long getReplicaConnectionCount() {
+        return replicaConnections.sum();
+    }
+
+    public long getHealthyReplicaCount() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dscatalog.datasource.connections.routed", primaryConnections, LongAdder::sum)
+                .description("Connections handed out by the routing data source")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("dscatalog.datasource.connections.routed", replicaConnections, LongAdder::sum)
+                .description("Connections handed out by the routing data source")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("dscatalog.datasource.replica.fallbacks", fallbacks, LongAdder::sum)
+                .description("Read-only transactions sent to the primary because no replica was available")
+                .register(registry);
+        Gauge.builder("dscatalog.datasource.replicas.healthy", this, ReadReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Replicas currently receiving read-only transactions")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean routesToReplica() {
+        if (replicas.isEmpty() || PrimaryRouting.isForced()) {
+            return false;
+        }
+        String user = currentUser();
+        return recentWriters == null || user == null || recentWriters.getIfPresent(user) == null;
+    }
+
+    private void recordWrite() {
+        if (recentWriters != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            String user = currentUser();
+            if (user != null) {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+    }
+
+    private Connection replicaConnection() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.setHealthy(false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The resource owner behind the request. Access tokens carry the OAuth client as their subject, so
+     * the user comes from the username claim; a client authenticating itself has no user at all.
+     */
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken
+                || authentication instanceof OAuth2ClientAuthenticationToken) {
+            return null;
+        }
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication) {
+            return jwtAuthentication.getToken().getClaimAsString("username");
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                log.warn("Read replica {} is now {}", dataSource, healthy ? "healthy" : "unavailable");
+            }
+            this.healthy = healthy;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.util.List;
+
+/**
+ * Signs with a single RSA key read from a PKCS12 keystore, for deployments that manage keys outside
+ * the application. The alias is used as the key id.
+ */
+public class KeystoreSigningKeySource implements SigningKeySource {
+
+    private final JWKSet jwkSet;
+    private final String keyId;
+
+    public KeystoreSigningKeySource(Resource location, String password, String alias) {
+        try (InputStream input = location.getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(input, password.toCharArray());
+
+            PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, password.toCharArray());
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (privateKey == null || certificate == null) {
+                throw new IllegalStateException("No RSA key pair under alias '" + alias + "' in " + location);
+            }
+            this.keyId = alias;
+            this.jwkSet = new JWKSet(new RSAKey.Builder((RSAPublicKey) certificate.getPublicKey())
+                    .privateKey(privateKey)
+                    .keyID(alias)
+                    .build());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load the signing key from " + location, e);
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(jwkSet);
+    }
+
+    @Override
+    public String signingKeyId() {
+        return keyId;
+    }
+}
@@ -0,0 +1,195 @@
+package com.devsuperior.dscatalog.config.jwk;
+
+import com.devsuperior.dscatalog.entities.SigningKey;
+import com.devsuperior.dscatalog.repositories.SigningKeyRepository;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.SecurityContext;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * RSA signing keys shared by every node through tb_signing_key. A new key is published
+ * {@code activationDelay} before it starts signing, so other nodes have loaded it by then, and the
+ * key it replaces keeps verifying until the last token it signed has expired. The key set is served
+ * from memory and reloaded on every maintenance pass; a key pair is only generated when none is
+ * stored or the newest one is due for rotation. Each key names the key it replaces and that name is
+ * unique, so when several nodes boot or rotate at once only one of them publishes the new key.
+ */
+public class RotatingSigningKeySource implements SigningKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(RotatingSigningKeySource.class);
+
+    // Predecessor of the first key, so concurrent first boots also race on the same value
+    private static final String FIRST_KEY = "none";
+
+    private final SigningKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TextEncryptor encryptor;
+    private final Duration rotationPeriod;
+    private final Duration activationDelay;
+    private final Duration tokenTimeToLive;
+
+    private volatile Keys keys = new Keys(new JWKSet(), null);
+
+    public RotatingSigningKeySource(
+            SigningKeyRepository repository,
+            TransactionTemplate transactionTemplate,
+            TextEncryptor encryptor,
+            Duration rotationPeriod,
+            Duration activationDelay,
+            Duration tokenTimeToLive
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.encryptor = encryptor;
+        this.rotationPeriod = rotationPeriod;
+        this.activationDelay = activationDelay;
+        this.tokenTimeToLive = tokenTimeToLive;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (repository.count() == 0) {
+            // First boot: nobody can have this key cached yet, so it signs straight away
+            publish(FIRST_KEY, Instant.now());
+        }
+        reload();
+    }
+
+    @Scheduled(
+            initialDelayString = "${dscatalog.security.jwk.refresh-interval-ms}",
+            fixedDelayString = "${dscatalog.security.jwk.refresh-interval-ms}"
+    )
+    public void maintain() {
+        Instant now = Instant.now();
+        Optional<SigningKey> current = repository.findAllByOrderByActivatesAtDesc().stream()
+                .filter(key -> key.getExpiresAt() == null)
+                .findFirst();
+        if (current.isEmpty() || !current.get().getActivatesAt().plus(rotationPeriod).isAfter(now)) {
+            // Keyed on the key judged due, so nodes that judged it together publish one successor
+            rotate(current.map(SigningKey::getId).orElse(FIRST_KEY));
+        }
+        transactionTemplate.executeWithoutResult(status -> repository.deleteExpired(now));
+        reload();
+    }
+
+    public void rotate() {
+        rotate(repository.findFirstByExpiresAtIsNullOrderByActivatesAtDesc()
+                .map(SigningKey::getId)
+                .orElse(FIRST_KEY));
+    }
+
+    /**
+     * Publishes the successor of {@code predecessorId}, unless another node already has.
+     */
+    boolean rotate(String predecessorId) {
+        boolean published = publish(predecessorId, Instant.now().plus(activationDelay));
+        reload();
+        return published;
+    }
+
+    private boolean publish(String predecessorId, Instant activatesAt) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                SigningKey successor = repository.saveAndFlush(newKey(predecessorId, activatesAt));
+                repository.retireAllExcept(successor.getId(), activatesAt.plus(tokenTimeToLive));
+                log.info("Signing key {} published, it starts signing at {}", successor.getId(), activatesAt);
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // predecessor_id is unique: another node published this successor first
+            log.info("Signing key {} was already replaced by another node", predecessorId);
+            return false;
+        }
+    }
+
+    public void reload() {
+        Instant now = Instant.now();
+        List<JWK> jwks = new ArrayList<>();
+        String signingKeyId = null;
+        for (SigningKey key : repository.findAllByOrderByActivatesAtDesc()) {
+            if (key.getExpiresAt() != null && !key.getExpiresAt().isAfter(now)) {
+                continue;
+            }
+            jwks.add(toJwk(key));
+            if (signingKeyId == null && !key.getActivatesAt().isAfter(now)) {
+                signingKeyId = key.getId();
+            }
+        }
+        keys = new Keys(new JWKSet(jwks), signingKeyId);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(keys.jwkSet());
+    }
+
+    @Override
+    public String signingKeyId() {
+        Keys current = keys;
+        if (current.signingKeyId() == null) {
+            throw new IllegalStateException("No active signing key");
+        }
+        return current.signingKeyId();
+    }
+
+    private SigningKey newKey(String predecessorId, Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair keyPair = generator.generateKeyPair();
+            Base64.Encoder encoder = Base64.getEncoder();
+            return SigningKey.builder()
+                    .id(UUID.randomUUID().toString())
+                    .publicKey(encoder.encodeToString(keyPair.getPublic().getEncoded()))
+                    .privateKey(encryptor.encrypt(encoder.encodeToString(keyPair.getPrivate().getEncoded())))
+                    .createdAt(Instant.now())
+                    .activatesAt(activatesAt)
+                    .predecessorId(predecessorId)
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RSAKey toJwk(SigningKey key) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+            Base64.Decoder decoder = Base64.getDecoder();
+            RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(
+                    new X509EncodedKeySpec(decoder.decode(key.getPublicKey())));
+            RSAPrivateKey privateKey = (RSAPrivateKey) keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decoder.decode(encryptor.decrypt(key.getPrivateKey()))));
+            return new RSAKey.Builder(publicKey).privateKey(privateKey).keyID(key.getId()).build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Signing key " + key.getId() + " could not be read", e);
+        }
+    }
+
+    private record Keys(JWKSet jwkSet, String signingKeyId) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+/**
+ * Keys the authorization server signs and verifies tokens with. Every published key can verify a
+ * token; only the key named by {@link #signingKeyId()} signs new ones.
+ */
+public interface SigningKeySource extends JWKSource<SecurityContext> {
+
+    String signingKeyId();
+}
@@ -1,50 +1,125 @@
 package com.devsuperior.dscatalog.controllers;
 
 import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import com.devsuperior.dscatalog.dto.responses.CursorPageResponse;
+import com.devsuperior.dscatalog.dto.responses.ProductBatchResponse;
 import com.devsuperior.dscatalog.dto.responses.ProductResponse;
 import com.devsuperior.dscatalog.projections.ProductProjection;
+import com.devsuperior.dscatalog.services.ProductBatchService;
+import com.devsuperior.dscatalog.services.ProductExportService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.cache.ProductSnapshot;
+import com.devsuperior.dscatalog.util.ResourceVersion;
+import com.devsuperior.dscatalog.util.Utils;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/products")
 public class ProductController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     private final ProductService productService;
+    private final ProductBatchService productBatchService;
+    private final ProductExportService productExportService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+            ProductService productService,
+            ProductBatchService productBatchService,
+            ProductExportService productExportService
+    ) {
         this.productService = productService;
+        this.productBatchService = productBatchService;
+        this.productExportService = productExportService;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductResponse>> findAll(Pageable pageable) {
+    public ResponseEntity<Page<ProductResponse>> findAll(Pageable pageable, WebRequest request) {
+        ResourceVersion version = productService.findVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<ProductResponse> products = productService.findAll(pageable);
         return ResponseEntity.status(HttpStatus.OK).body(products);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> findAllByCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "count", defaultValue = "false") Boolean count
+    ) {
+        CursorPageResponse<ProductResponse> products = productService.findAllByCursor(cursor, size, count);
+        return ResponseEntity.status(HttpStatus.OK).body(products);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<Page<ProductResponse>> findProductProjection(
             @RequestParam(value = "name", defaultValue = "") String name,
             @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
-            Pageable pageable
+            Pageable pageable,
+            WebRequest request
     ) {
+        ResourceVersion version = productService.findVersion();
+        if (request.checkNotModified(version.etag(), version.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<ProductResponse> result = productService.findAllProductProjection(categoryId, name, pageable);
         return ResponseEntity.status(HttpStatus.OK).body(result);
     }
 
+    @GetMapping(value = "/test", params = "cursor")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> findProductProjectionByCursor(
+            @RequestParam(value = "name", defaultValue = "") String name,
+            @RequestParam(value = "categoryId", defaultValue = "0") String categoryId,
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "size", defaultValue = "20") Integer size,
+            @RequestParam(value = "count", defaultValue = "false") Boolean count
+    ) {
+        CursorPageResponse<ProductResponse> result =
+                productService.findAllProductProjectionByCursor(categoryId, name, cursor, size, count);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, defaultValue = "") String acceptEncoding
+    ) {
+        return export(MediaType.APPLICATION_NDJSON, "products.ndjson", acceptEncoding, productExportService::exportNdjson);
+    }
+
+    @GetMapping(value = "/export", params = "format=csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, defaultValue = "") String acceptEncoding
+    ) {
+        return export(TEXT_CSV, "products.csv", acceptEncoding, productExportService::exportCsv);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
-        ProductResponse product = productService.findById(id);
-        return ResponseEntity.status(HttpStatus.OK).body(product);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id) {
+        // A matching If-None-Match turns this into a 304 without a body
+        ProductSnapshot product = productService.findSnapshotById(id);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(product.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(product.json());
     }
 
     @PostMapping
@@ -56,6 +131,13 @@ public class ProductController {
         return ResponseEntity.created(uri).body(inserted);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ProductBatchResponse> insertAll(InputStream body) throws IOException {
+        ProductBatchResponse result = productBatchService.insertAll(body);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ProductResponse> update(
@@ -72,4 +154,22 @@ public class ProductController {
         productService.deleteById(id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    private static ResponseEntity<StreamingResponseBody> export(
+            MediaType mediaType, String fileName, String acceptEncoding, StreamingResponseBody writer
+    ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!Utils.acceptsGzip(acceptEncoding)) {
+            return response.body(writer);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out, 8192);
+            writer.writeTo(gzip);
+            gzip.finish();
+        });
+    }
 }
@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.dto.responses;
+
+import com.devsuperior.dscatalog.dto.responses.errors.FieldMessageResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchFailureResponse {
+
+    private Integer index;
+    @Builder.Default
+    private List<FieldMessageResponse> errors = new ArrayList<>();
+}
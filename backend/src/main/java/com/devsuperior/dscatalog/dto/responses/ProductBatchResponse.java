@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.dto.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    private Integer received;
+    private Integer inserted;
+    @Builder.Default
+    private List<ProductBatchFailureResponse> failures = new ArrayList<>();
+}
@@ -2,6 +2,7 @@ package com.devsuperior.dscatalog.dto.responses;
 
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductCategoryRowProjection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -37,6 +38,15 @@ public class ProductResponse {
         this.date = entity.getDate();
     }
 
+    public ProductResponse(ProductCategoryRowProjection row) {
+        this.id = row.getId();
+        this.name = row.getName();
+        this.description = row.getDescription();
+        this.price = row.getPrice();
+        this.imgUrl = row.getImgUrl();
+        this.date = row.getDate();
+    }
+
     public ProductResponse(Product entity, Set<Category> categories) {
         this(entity);
         categories.forEach(category -> this.categories.add(new CategoryResponse(category)));
@@ -0,0 +1,8 @@
+package com.devsuperior.dscatalog.entities;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -13,7 +13,10 @@ import java.util.Objects;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_password_recover")
+@Table(name = "tb_password_recover", indexes = {
+        @Index(name = "ix_password_recover_token", columnList = "token, expiration"),
+        @Index(name = "ix_password_recover_email", columnList = "email, expiration")
+})
 public class PasswordRecover {
 
     @Id
@@ -3,6 +3,8 @@ package com.devsuperior.dscatalog.entities;
 import com.devsuperior.dscatalog.projections.IdProjection;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 import java.util.HashSet;
@@ -15,7 +17,8 @@ import java.util.Set;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "tb_product")
+// The trigram index on LOWER(name) used by the catalog search only exists in the PostgreSQL migrations
+@Table(name = "tb_product", indexes = @Index(name = "ix_product_name_id", columnList = "name, id"))
 public class Product implements IdProjection<Long> {
 
     @Id
@@ -34,13 +37,30 @@ public class Product implements IdProjection<Long> {
     @Column(columnDefinition = "TIMESTAMP WITH TIME ZONE")
     private OffsetDateTime date;
 
+    @Column(name = "created_at", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime updatedAt;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "productCategories")
     @JoinTable(name = "tb_product_category",
             joinColumns =  @JoinColumn(name = "product_id"),
-            inverseJoinColumns = @JoinColumn(name = "category_id")
+            inverseJoinColumns = @JoinColumn(name = "category_id"),
+            indexes = @Index(name = "ix_product_category_product", columnList = "product_id, category_id")
     )
     private Set<Category> categories = new HashSet<>();
 
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = OffsetDateTime.now();
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,52 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_signing_key")
+public class SigningKey {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant activatesAt;
+
+    private Instant expiresAt;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String predecessorId;
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SigningKey that = (SigningKey) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -0,0 +1,84 @@
+package com.devsuperior.dscatalog.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tb_oauth2_authorization", indexes = {
+        @Index(name = "ix_oauth2_authorization_access_token", columnList = "accessTokenHash"),
+        @Index(name = "ix_oauth2_authorization_refresh_token", columnList = "refreshTokenHash"),
+        @Index(name = "ix_oauth2_authorization_expires_at", columnList = "expiresAt")
+})
+public class StoredAuthorization {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false, length = 100)
+    private String registeredClientId;
+
+    @Column(nullable = false, length = 200)
+    private String principalName;
+
+    @Column(nullable = false, length = 100)
+    private String authorizationGrantType;
+
+    @Column(length = 1000)
+    private String authorizedScopes;
+
+    @Column(columnDefinition = "TEXT")
+    private String accessTokenValue;
+
+    @Column(length = 64)
+    private String accessTokenHash;
+
+    private Instant accessTokenIssuedAt;
+
+    private Instant accessTokenExpiresAt;
+
+    @Column(length = 1000)
+    private String accessTokenScopes;
+
+    @Column(columnDefinition = "TEXT")
+    private String accessTokenClaims;
+
+    private boolean accessTokenInvalidated;
+
+    @Column(columnDefinition = "TEXT")
+    private String refreshTokenValue;
+
+    @Column(length = 64)
+    private String refreshTokenHash;
+
+    private Instant refreshTokenIssuedAt;
+
+    private Instant refreshTokenExpiresAt;
+
+    private boolean refreshTokenInvalidated;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StoredAuthorization that = (StoredAuthorization) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
@@ -30,7 +30,8 @@ public class User implements UserDetails {
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "tb_user_role",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "role_id"))
+            inverseJoinColumns = @JoinColumn(name = "role_id"),
+            indexes = @Index(name = "ix_user_role_user", columnList = "user_id, role_id"))
     private Set<Role> roles = new HashSet<>();
 
     public void addRole(Role role) {
@@ -0,0 +1,9 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.OffsetDateTime;
+
+public interface LastModifiedProjection {
+
+    Long getTotal();
+    OffsetDateTime getLastModified();
+}
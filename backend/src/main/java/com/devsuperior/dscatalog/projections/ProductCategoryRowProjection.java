@@ -0,0 +1,14 @@
+package com.devsuperior.dscatalog.projections;
+
+import java.time.OffsetDateTime;
+
+public interface ProductCategoryRowProjection extends IdProjection<Long> {
+
+    String getName();
+    String getDescription();
+    Double getPrice();
+    String getImgUrl();
+    OffsetDateTime getDate();
+    Long getCategoryId();
+    String getCategoryName();
+}
@@ -0,0 +1,7 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface ProductIndexProjection extends IdProjection<Long> {
+
+    String getName();
+    Long getCategoryId();
+}
@@ -0,0 +1,6 @@
+package com.devsuperior.dscatalog.projections;
+
+public interface ProductSearchProjection extends ProductProjection {
+
+    Long getTotal();
+}
@@ -1,9 +1,29 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.projections.LastModifiedProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    @Query("SELECT COUNT(obj) AS total, MAX(COALESCE(obj.updatedAt, obj.createdAt)) AS lastModified FROM Category obj")
+    LastModifiedProjection findLastModified();
+
+    @Query("""
+            SELECT COUNT(obj) AS total, MAX(COALESCE(obj.updatedAt, obj.createdAt)) AS lastModified
+            FROM Category obj WHERE obj.id = :id
+            """)
+    LastModifiedProjection findLastModifiedById(Long id);
 }
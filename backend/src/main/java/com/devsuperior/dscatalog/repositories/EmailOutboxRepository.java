@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query(nativeQuery = true, value = """
+            SELECT id FROM tb_email_outbox
+            WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            """)
+    List<Long> searchDueIds(OffsetDateTime now, Pageable pageable);
+
+    // Moves a due message into SENDING with a lease; only one dispatcher wins the update
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            UPDATE tb_email_outbox SET status = 'SENDING', next_attempt_at = :leaseUntil
+            WHERE id = :id AND status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now
+            """)
+    int claim(Long id, OffsetDateTime now, OffsetDateTime leaseUntil);
+}
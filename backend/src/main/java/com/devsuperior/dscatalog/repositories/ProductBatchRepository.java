@@ -0,0 +1,69 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryProductRequest;
+import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts products with JDBC batches. Hibernate cannot batch inserts of IDENTITY ids, so the bulk
+ * import writes the rows directly and reads the generated ids back from the batch.
+ */
+@Repository
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT = """
+            INSERT INTO tb_product (name, description, price, img_url, date, created_at)
+            VALUES (:name, :description, :price, :imgUrl, :date, :createdAt)
+            """;
+
+    private static final String INSERT_PRODUCT_CATEGORY = """
+            INSERT INTO tb_product_category (product_id, category_id) VALUES (:productId, :categoryId)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductBatchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Long> insertAll(List<ProductRequest> products) {
+        OffsetDateTime now = OffsetDateTime.now();
+        SqlParameterSource[] productParams = products.stream()
+                .map(product -> new MapSqlParameterSource()
+                        .addValue("name", product.getName())
+                        .addValue("description", product.getDescription())
+                        .addValue("price", product.getPrice())
+                        .addValue("imgUrl", product.getImgUrl())
+                        .addValue("date", product.getDate())
+                        .addValue("createdAt", now))
+                .toArray(SqlParameterSource[]::new);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, productParams, keyHolder, new String[]{"id"});
+        List<Long> ids = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+
+        List<SqlParameterSource> categoryParams = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Long productId = ids.get(i);
+            products.get(i).getCategories().stream()
+                    .map(CategoryProductRequest::getId)
+                    .distinct()
+                    .forEach(categoryId -> categoryParams.add(new MapSqlParameterSource()
+                            .addValue("productId", productId)
+                            .addValue("categoryId", categoryId)));
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, categoryParams.toArray(SqlParameterSource[]::new));
+        return ids;
+    }
+}
@@ -1,18 +1,40 @@
 package com.devsuperior.dscatalog.repositories;
 
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.LastModifiedProjection;
+import com.devsuperior.dscatalog.projections.ProductCategoryRowProjection;
+import com.devsuperior.dscatalog.projections.ProductIndexProjection;
 import com.devsuperior.dscatalog.projections.ProductProjection;
+import com.devsuperior.dscatalog.projections.ProductSearchProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findById(Long id);
+
+    @Query(value = "SELECT obj.id AS id, obj.name AS name FROM Product obj",
+            countQuery = "SELECT COUNT(obj) FROM Product obj")
+    Page<ProductProjection> searchAll(Pageable pageable);
+
+    @Query("SELECT COUNT(obj) AS total, MAX(COALESCE(obj.updatedAt, obj.createdAt)) AS lastModified FROM Product obj")
+    LastModifiedProjection findLastModified();
+
     @Query(nativeQuery = true, value = """
             SELECT * FROM (
                 SELECT DISTINCT tb_product.id, tb_product.name
@@ -21,8 +43,42 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                 WHERE (:categoryIds IS NULL OR tb_product_category.category_id IN :categoryIds)
                 AND (LOWER(tb_product.name) LIKE LOWER(CONCAT('%',:name,'%')))
             ) AS tb_result
-        """,
-        countQuery = """
+        """)
+    Slice<ProductProjection> searchProducts(List<Long> categoryIds, String name, Pageable pageable);
+
+    @Query(nativeQuery = true, value = """
+            SELECT tb_result.id, tb_result.name, COUNT(*) OVER() AS total FROM (
+                SELECT DISTINCT tb_product.id, tb_product.name
+                FROM tb_product
+                INNER JOIN tb_product_category ON tb_product_category.product_id = tb_product.id
+                WHERE (:categoryIds IS NULL OR tb_product_category.category_id IN :categoryIds)
+                AND (LOWER(tb_product.name) LIKE LOWER(CONCAT('%',:name,'%')))
+            ) AS tb_result
+        """)
+    List<ProductSearchProjection> searchProductsWithTotal(List<Long> categoryIds, String name, Pageable pageable);
+
+    @Query(nativeQuery = true, value = """
+            SELECT tb_product.id, tb_product.name
+            FROM tb_product
+            WHERE (tb_product.name, tb_product.id) > (:lastName, :lastId)
+            ORDER BY tb_product.name, tb_product.id
+            LIMIT :limit
+        """)
+    List<ProductProjection> searchProductsAfter(String lastName, Long lastId, int limit);
+
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT tb_product.id, tb_product.name
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product_category.product_id = tb_product.id
+            WHERE (:categoryIds IS NULL OR tb_product_category.category_id IN :categoryIds)
+            AND (LOWER(tb_product.name) LIKE LOWER(CONCAT('%',:name,'%')))
+            AND (tb_product.name, tb_product.id) > (:lastName, :lastId)
+            ORDER BY tb_product.name, tb_product.id
+            LIMIT :limit
+        """)
+    List<ProductProjection> searchProductsAfter(List<Long> categoryIds, String name, String lastName, Long lastId, int limit);
+
+    @Query(nativeQuery = true, value = """
             SELECT COUNT(*) FROM (
                 SELECT DISTINCT tb_product.id, tb_product.name
                 FROM tb_product
@@ -31,8 +87,35 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                 AND (LOWER(tb_product.name) LIKE LOWER(CONCAT('%',:name,'%')))
             ) AS tb_result
         """)
-    Page<ProductProjection> searchProducts(List<Long> categoryIds, String name, Pageable pageable);
+    long countProducts(List<Long> categoryIds, String name);
 
-    @Query("SELECT obj FROM Product obj JOIN FETCH obj.categories WHERE obj.id IN :productIds")
+    @Query("SELECT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :productIds")
     List<Product> searchProductsWithCategories(List<Long> productIds);
+
+    @Query("""
+            SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price,
+                obj.imgUrl AS imgUrl, obj.date AS date, cat.id AS categoryId, cat.name AS categoryName
+            FROM Product obj
+            LEFT JOIN obj.categories cat
+            WHERE obj.id IN :productIds
+        """)
+    List<ProductCategoryRowProjection> searchProductRowsWithCategories(List<Long> productIds);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price,
+                obj.imgUrl AS imgUrl, obj.date AS date, cat.id AS categoryId, cat.name AS categoryName
+            FROM Product obj
+            LEFT JOIN obj.categories cat
+            ORDER BY obj.id
+        """)
+    Stream<ProductCategoryRowProjection> streamProductRowsWithCategories();
+
+    @Query(nativeQuery = true, value = """
+            SELECT tb_product.id, tb_product.name, tb_product_category.category_id AS categoryId
+            FROM tb_product
+            INNER JOIN tb_product_category ON tb_product_category.product_id = tb_product.id
+            ORDER BY tb_product.name, tb_product.id
+        """)
+    List<ProductIndexProjection> searchProductsForIndex();
 }
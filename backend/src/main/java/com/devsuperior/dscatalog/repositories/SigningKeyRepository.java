@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+
+    List<SigningKey> findAllByOrderByActivatesAtDesc();
+
+    Optional<SigningKey> findFirstByExpiresAtIsNullOrderByActivatesAtDesc();
+
+    @Modifying
+    @Query("UPDATE SigningKey obj SET obj.expiresAt = :expiresAt WHERE obj.expiresAt IS NULL AND obj.id <> :successorId")
+    int retireAllExcept(String successorId, Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM SigningKey obj WHERE obj.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
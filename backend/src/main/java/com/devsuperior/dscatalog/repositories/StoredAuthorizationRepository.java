@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.repositories;
+
+import com.devsuperior.dscatalog.entities.StoredAuthorization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface StoredAuthorizationRepository extends JpaRepository<StoredAuthorization, String> {
+
+    Optional<StoredAuthorization> findByAccessTokenHash(String accessTokenHash);
+
+    Optional<StoredAuthorization> findByRefreshTokenHash(String refreshTokenHash);
+
+    // Deletes at most batchSize expired rows so a large backlog never holds one long transaction
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            DELETE FROM tb_oauth2_authorization WHERE id IN (
+                SELECT id FROM tb_oauth2_authorization
+                WHERE expires_at < :now
+                ORDER BY expires_at
+                LIMIT :batchSize
+            )
+            """)
+    int deleteExpired(Instant now, int batchSize);
+}
@@ -6,10 +6,14 @@ import com.devsuperior.dscatalog.repositories.PasswordRecoverRepository;
 import com.devsuperior.dscatalog.entities.PasswordRecover;
 import com.devsuperior.dscatalog.entities.User;
 import com.devsuperior.dscatalog.repositories.UserRepository;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
 import com.devsuperior.dscatalog.services.exceptions.InvalidPasswordRecoverTokenException;
 import com.devsuperior.dscatalog.services.exceptions.UserNotLoggedException;
+import com.devsuperior.dscatalog.services.mail.EmailTemplateEngine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,16 +25,21 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
 @Service
 public class AuthService {
 
+    private static final String PASSWORD_RESET_TEMPLATE = "password-reset";
+
     private final UserRepository userRepository;
     private final PasswordRecoverRepository passwordRecoverRepository;
     private final PasswordEncoder passwordEncoder;
-    private final EmailServices emailServices;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateEngine emailTemplateEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${dscatalog.email.password-recover.expiration-token-seconds}")
     private Long tokenExpirationSeconds;
@@ -42,12 +51,16 @@ public class AuthService {
             UserRepository userRepository,
             PasswordRecoverRepository passwordRecoverRepository,
             PasswordEncoder passwordEncoder,
-            EmailServices emailServices
+            EmailOutboxService emailOutboxService,
+            EmailTemplateEngine emailTemplateEngine,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.passwordRecoverRepository = passwordRecoverRepository;
         this.passwordEncoder = passwordEncoder;
-        this.emailServices = emailServices;
+        this.emailOutboxService = emailOutboxService;
+        this.emailTemplateEngine = emailTemplateEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -66,14 +79,14 @@ public class AuthService {
 
         String subject = "Password recovery";
         String recoveryLink = redirectRecoverUri + "/" + inserted.getToken();
-        String body = buildPasswordResetEmail(
-                user.getFirstName(),
-                inserted.getEmail(),
-                recoveryLink,
-                tokenExpirationSeconds / 60L
-        );
-
-        emailServices.sendEmail(inserted.getEmail(), subject, body);
+        String body = emailTemplateEngine.render(PASSWORD_RESET_TEMPLATE, LocaleContextHolder.getLocale(), Map.of(
+                "userName", user.getFirstName(),
+                "userEmail", inserted.getEmail(),
+                "resetLink", recoveryLink,
+                "tokenValidityMinutes", tokenExpirationSeconds / 60L
+        ));
+
+        emailOutboxService.enqueue(inserted.getEmail(), subject, body);
     }
 
     @Transactional
@@ -104,6 +117,7 @@ public class AuthService {
         passwordRecoverRepository.save(passwordRecover);
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
 
     }
 
@@ -138,94 +152,4 @@ public class AuthService {
 
         passwordRecoverRepository.saveAll(tokensToInvalidate);
     }
-
-    private String buildPasswordResetEmail(String userName, String userEmail, String resetLink, Long tokenValidityMinutes) {
-        return "<!DOCTYPE html>" +
-                "<html lang=\"en\">" +
-                "<head>" +
-                "    <meta charset=\"UTF-8\">" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                "    <title>Password Reset</title>" +
-                "    <style>" +
-                "        body {" +
-                "            font-family: Arial, sans-serif;" +
-                "            background-color: #f4f4f4;" +
-                "            color: #333;" +
-                "            margin: 0;" +
-                "            padding: 0;" +
-                "            -webkit-font-smoothing: antialiased;" +
-                "        }" +
-                "        .container {" +
-                "            max-width: 600px;" +
-                "            margin: 50px auto;" +
-                "            background-color: #ffffff;" +
-                "            padding: 20px;" +
-                "            border-radius: 8px;" +
-                "            box-shadow: 0 0 10px rgba(0, 0, 0, 0.1);" +
-                "        }" +
-                "        h1 {" +
-                "            font-size: 24px;" +
-                "            color: #333;" +
-                "        }" +
-                "        p {" +
-                "            font-size: 16px;" +
-                "            line-height: 1.6;" +
-                "        }" +
-                "        .button {" +
-                "            display: block;" +
-                "            width: 100%;" +
-                "            max-width: 200px;" +
-                "            margin: 20px auto;" +
-                "            padding: 15px 25px;" +
-                "            font-size: 16px;" +
-                "            font-weight: bold;" +
-                "            color: #ffffff;" +
-                "            background-color: #007bff;" +
-                "            text-align: center;" +
-                "            text-decoration: none;" +
-                "            border-radius: 5px;" +
-                "        }" +
-                "        .button:hover {" +
-                "            background-color: #0056b3;" +
-                "        }" +
-                "        .link-container {" +
-                "            margin-top: 20px;" +
-                "            text-align: center;" +
-                "            font-size: 14px;" +
-                "        }" +
-                "        .link-container p {" +
-                "            margin: 5px 0;" +
-                "        }" +
-                "        .link-container a {" +
-                "            color: #007bff;" +
-                "            word-break: break-all;" +
-                "        }" +
-                "        .footer {" +
-                "            margin-top: 30px;" +
-                "            text-align: center;" +
-                "            font-size: 12px;" +
-                "            color: #999999;" +
-                "        }" +
-                "    </style>" +
-                "</head>" +
-                "<body>" +
-                "    <div class=\"container\">" +
-                "        <h1>Password Reset Request</h1>" +
-                "        <p>Hello, " + userName + ",</p>" +
-                "        <p>We received a request to reset the password for your account associated with this email: <strong>" + userEmail + "</strong>.</p>" +
-                "        <p>Your password reset token is valid for <strong>" + tokenValidityMinutes + " minutes</strong>.</p>" +
-                "        <p>Click the button below to proceed with resetting your password:</p>" +
-                "        <a href=\"" + resetLink + "\" class=\"button\">Reset Your Password</a>" +
-                "        <div class=\"link-container\">" +
-                "            <p>If the button above doesn't work, copy and paste the following link into your browser:</p>" +
-                "            <a href=\"" + resetLink + "\">" + resetLink + "</a>" +
-                "        </div>" +
-                "        <p>If you didn't request a password reset, please ignore this email.</p>" +
-                "        <div class=\"footer\">" +
-                "            <p>Thank you,<br>DsCatalog</p>" +
-                "        </div>" +
-                "    </div>" +
-                "</body>" +
-                "</html>";
-    }
 }
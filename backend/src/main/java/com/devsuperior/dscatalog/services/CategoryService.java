@@ -3,9 +3,13 @@ package com.devsuperior.dscatalog.services;
 import com.devsuperior.dscatalog.dto.requests.CategoryRequest;
 import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
 import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.projections.LastModifiedProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
+import com.devsuperior.dscatalog.util.ResourceVersion;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -18,9 +22,11 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -37,6 +43,20 @@ public class CategoryService {
         return new CategoryResponse(category);
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion() {
+        return ResourceVersion.ofCollection(categoryRepository.findLastModified());
+    }
+
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersionById(Long id) {
+        LastModifiedProjection lastModified = categoryRepository.findLastModifiedById(id);
+        if (lastModified.getTotal() == 0) {
+            throw new EntityNotFoundException("Category", "id", id.toString());
+        }
+        return ResourceVersion.of(lastModified);
+    }
+
     @Transactional
     public CategoryResponse insert(CategoryRequest request) {
         Category category = new Category();
@@ -53,6 +73,7 @@ public class CategoryService {
             copyDtoToEntity(request, category);
 
             Category updated = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(updated.getId()));
             return new CategoryResponse(updated);
         } catch (jakarta.persistence.EntityNotFoundException e) {
             throw new EntityNotFoundException("Category", "id", id.toString());
@@ -0,0 +1,105 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.services.events.EmailQueuedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the email outbox on a virtual thread. A drain starts right after a message is committed and
+ * on a fixed delay for retries; a semaphore caps how many SMTP sessions are open at once. Deliveries
+ * run on platform threads: the SMTP transport sends inside synchronized methods, which would pin a
+ * virtual thread's carrier for the whole SMTP exchange.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService emailOutboxService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService deliveryExecutor;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Semaphore permits;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxService emailOutboxService,
+            @Value("${dscatalog.email.outbox.max-concurrency}") Integer maxConcurrency
+    ) {
+        this.emailOutboxService = emailOutboxService;
+        this.permits = new Semaphore(maxConcurrency);
+        this.deliveryExecutor = Executors.newFixedThreadPool(maxConcurrency,
+                Thread.ofPlatform().name("email-delivery-", 1).daemon(true).factory());
+    }
+
+    @TransactionalEventListener
+    public void onEmailQueued(EmailQueuedEvent event) {
+        dispatch();
+    }
+
+    @Scheduled(
+            initialDelayString = "${dscatalog.email.outbox.poll-interval-ms}",
+            fixedDelayString = "${dscatalog.email.outbox.poll-interval-ms}"
+    )
+    public void poll() {
+        dispatch();
+    }
+
+    public void dispatch() {
+        // Requests that arrive while a drain is running are folded into one more pass of that drain
+        if (requests.getAndIncrement() > 0) {
+            return;
+        }
+        executor.execute(() -> {
+            int handled;
+            do {
+                handled = requests.get();
+                drain();
+            } while (requests.addAndGet(-handled) > 0);
+        });
+    }
+
+    private void drain() {
+        try {
+            List<Long> claimed;
+            do {
+                claimed = emailOutboxService.claimDue();
+                for (Long id : claimed) {
+                    permits.acquire();
+                    deliveryExecutor.execute(() -> {
+                        try {
+                            emailOutboxService.deliver(id);
+                        } catch (RuntimeException e) {
+                            log.warn("Email {} could not be delivered, it will be retried after its lease", id, e);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } while (claimed.size() == emailOutboxService.getBatchSize());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Email outbox drain failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        deliveryExecutor.shutdown();
+        deliveryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,118 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.config.datasource.PrimaryRouting;
+import com.devsuperior.dscatalog.entities.EmailOutbox;
+import com.devsuperior.dscatalog.entities.EmailOutboxStatus;
+import com.devsuperior.dscatalog.repositories.EmailOutboxRepository;
+import com.devsuperior.dscatalog.services.events.EmailQueuedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for outgoing emails. Messages are stored with the business change that
+ * produced them and delivered later by {@link EmailOutboxDispatcher}, so an SMTP outage neither
+ * slows down nor rolls back the request.
+ */
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailServices emailServices;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${dscatalog.email.outbox.batch-size}")
+    private Integer batchSize;
+
+    @Value("${dscatalog.email.outbox.max-attempts}")
+    private Integer maxAttempts;
+
+    @Value("${dscatalog.email.outbox.backoff-initial}")
+    private Duration backoffInitial;
+
+    @Value("${dscatalog.email.outbox.backoff-max}")
+    private Duration backoffMax;
+
+    @Value("${dscatalog.email.outbox.lease}")
+    private Duration lease;
+
+    public EmailOutboxService(
+            EmailOutboxRepository emailOutboxRepository,
+            EmailServices emailServices,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailServices = emailServices;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String to, String subject, String body) {
+        EmailOutbox email = EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(OffsetDateTime.now())
+                .build();
+        EmailOutbox inserted = emailOutboxRepository.save(email);
+        eventPublisher.publishEvent(new EmailQueuedEvent(inserted.getId()));
+    }
+
+    @Transactional
+    public List<Long> claimDue() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime leaseUntil = now.plus(lease);
+        // A message left in SENDING by a crashed dispatcher becomes due again once its lease runs out
+        return emailOutboxRepository.searchDueIds(now, PageRequest.of(0, batchSize)).stream()
+                .filter(id -> emailOutboxRepository.claim(id, now, leaseUntil) == 1)
+                .toList();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void deliver(Long id) {
+        // The SENDING lease was committed on the primary a moment ago; a lagging replica may not show it yet
+        EmailOutbox email = PrimaryRouting.call(() -> emailOutboxRepository.findById(id)).orElse(null);
+        if (email == null || email.getStatus() != EmailOutboxStatus.SENDING) {
+            return;
+        }
+        email.setAttempts(email.getAttempts() + 1);
+        try {
+            emailServices.sendEmail(email.getRecipient(), email.getSubject(), email.getBody());
+            email.setStatus(EmailOutboxStatus.SENT);
+            email.setSentAt(OffsetDateTime.now());
+            email.setLastError(null);
+        } catch (RuntimeException e) {
+            // Any failure must be recorded, or the message would be reclaimed after every lease forever
+            boolean exhausted = email.getAttempts() >= maxAttempts;
+            email.setStatus(exhausted ? EmailOutboxStatus.FAILED : EmailOutboxStatus.PENDING);
+            email.setNextAttemptAt(OffsetDateTime.now().plus(backoff(email.getAttempts(), backoffInitial, backoffMax)));
+            email.setLastError(abbreviate(e.getMessage() != null ? e.getMessage() : e.getClass().getName()));
+        }
+        emailOutboxRepository.save(email);
+    }
+
+    private static String abbreviate(String message) {
+        return message == null || message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    static Duration backoff(int attempts, Duration initial, Duration max) {
+        // Exponential with equal jitter: half of the delay is fixed, the other half random
+        long exponential = initial.toMillis() << Math.min(attempts - 1, 30);
+        long capped = Math.min(Math.max(exponential, 0), max.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
@@ -1,6 +1,7 @@
 package com.devsuperior.dscatalog.services;
 
 import com.devsuperior.dscatalog.services.exceptions.EmailException;
+import com.devsuperior.dscatalog.services.mail.SmtpConnectionPool;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,9 +17,11 @@ public class EmailServices {
     private String emailFrom;
 
     private final JavaMailSender mailSender;
+    private final SmtpConnectionPool smtpConnectionPool;
 
-    public EmailServices(JavaMailSender mailSender) {
+    public EmailServices(JavaMailSender mailSender, SmtpConnectionPool smtpConnectionPool) {
         this.mailSender = mailSender;
+        this.smtpConnectionPool = smtpConnectionPool;
     }
 
     public void sendEmail(String to, String subject, String body) {
@@ -31,7 +34,7 @@ public class EmailServices {
             helper.setSubject(subject);
             helper.setText(body, true);
 
-            mailSender.send(message);
+            smtpConnectionPool.send(message);
         } catch (MessagingException | MailException e) {
             throw new EmailException(String.format("Failed to send email %s", e.getMessage()));
         }
@@ -0,0 +1,183 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryProductRequest;
+import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import com.devsuperior.dscatalog.dto.responses.ProductBatchFailureResponse;
+import com.devsuperior.dscatalog.dto.responses.ProductBatchResponse;
+import com.devsuperior.dscatalog.dto.responses.errors.FieldMessageResponse;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.repositories.CategoryRepository;
+import com.devsuperior.dscatalog.repositories.ProductBatchRepository;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products from a JSON array or an NDJSON stream. Items are validated one by one and
+ * inserted in chunks, each in its own transaction; invalid or failing items are reported back
+ * without stopping the rest of the import.
+ */
+@Service
+public class ProductBatchService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CategoryRepository categoryRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Integer chunkSize;
+
+    public ProductBatchService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            CategoryRepository categoryRepository,
+            ProductBatchRepository productBatchRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${dscatalog.product.batch.chunk-size}") Integer chunkSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.categoryRepository = categoryRepository;
+        this.productBatchRepository = productBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    public ProductBatchResponse insertAll(InputStream input) throws IOException {
+        Set<Long> categoryIds = categoryRepository.findAll().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        ProductBatchResponse response = new ProductBatchResponse(0, 0, new ArrayList<>());
+        List<IndexedRequest> chunk = new ArrayList<>(chunkSize);
+
+        // A root-level array is unwrapped element by element; NDJSON is read value by value
+        try (MappingIterator<ProductRequest> items = objectMapper.readerFor(ProductRequest.class).readValues(input)) {
+            int index = 0;
+            while (true) {
+                ProductRequest item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonMappingException e) {
+                    // The iterator skips past the offending value, so the stream can go on
+                    addFailure(response, index++, List.of(new FieldMessageResponse("item", e.getOriginalMessage())));
+                    continue;
+                } catch (JsonProcessingException e) {
+                    addFailure(response, index, List.of(new FieldMessageResponse("item", e.getOriginalMessage())));
+                    break;
+                }
+
+                // The validator rejects a null item, and a null category list would fail the id check
+                if (item == null) {
+                    addFailure(response, index++, List.of(new FieldMessageResponse("item", "Item cannot be null")));
+                    continue;
+                }
+                if (item.getCategories() == null) {
+                    addFailure(response, index++,
+                            List.of(new FieldMessageResponse("categories", "Categories cannot be null")));
+                    continue;
+                }
+
+                List<FieldMessageResponse> errors = validate(item, categoryIds);
+                if (errors.isEmpty()) {
+                    chunk.add(new IndexedRequest(index, item));
+                } else {
+                    addFailure(response, index, errors);
+                }
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    insertChunk(chunk, response);
+                    chunk.clear();
+                }
+            }
+            response.setReceived(index);
+        }
+        insertChunk(chunk, response);
+        response.getFailures().sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return response;
+    }
+
+    private List<FieldMessageResponse> validate(ProductRequest item, Set<Long> categoryIds) {
+        List<FieldMessageResponse> errors = new ArrayList<>();
+        validator.validate(item).forEach(violation ->
+                errors.add(new FieldMessageResponse(violation.getPropertyPath().toString(), violation.getMessage())));
+
+        Set<Long> unknownIds = new HashSet<>();
+        for (CategoryProductRequest category : item.getCategories()) {
+            Long id = category == null ? null : category.getId();
+            if (id == null || !categoryIds.contains(id)) {
+                unknownIds.add(id);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            errors.add(new FieldMessageResponse("categories", "Unknown category ids: " + unknownIds));
+        }
+        return errors;
+    }
+
+    private void insertChunk(List<IndexedRequest> chunk, ProductBatchResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(chunk));
+            response.setInserted(response.getInserted() + chunk.size());
+        } catch (DataAccessException e) {
+            // Retry row by row so a single bad item does not take the whole chunk down
+            for (IndexedRequest item : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(item)));
+                    response.setInserted(response.getInserted() + 1);
+                } catch (DataAccessException ex) {
+                    addFailure(response, item.index(),
+                            List.of(new FieldMessageResponse("item", "Product could not be saved")));
+                }
+            }
+        }
+    }
+
+    private void insert(List<IndexedRequest> chunk) {
+        List<ProductRequest> products = chunk.stream().map(IndexedRequest::request).toList();
+        List<Long> ids = productBatchRepository.insertAll(products);
+
+        List<ProductChangedEvent> inserted = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            ProductRequest product = products.get(i);
+            Set<Long> categoryIds = product.getCategories().stream()
+                    .map(CategoryProductRequest::getId)
+                    .collect(Collectors.toSet());
+            inserted.add(new ProductChangedEvent(ids.get(i), product.getName(), categoryIds, false));
+        }
+        eventPublisher.publishEvent(new ProductsInsertedEvent(inserted));
+    }
+
+    private static void addFailure(ProductBatchResponse response, int index, List<FieldMessageResponse> errors) {
+        response.getFailures().add(new ProductBatchFailureResponse(index, errors));
+    }
+
+    private record IndexedRequest(int index, ProductRequest request) {
+    }
+}
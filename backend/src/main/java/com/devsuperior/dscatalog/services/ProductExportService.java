@@ -0,0 +1,115 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.projections.ProductCategoryRowProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog from a forward-only cursor, one product at a time, so memory use does not
+ * grow with the number of products.
+ */
+@Service
+public class ProductExportService {
+
+    private static final String CSV_HEADER = "id,name,description,price,imgUrl,date,categoryIds,categoryNames";
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter objectWriter;
+
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.objectWriter = objectMapper.writer();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        forEachProduct(product -> {
+            try {
+                out.write(objectWriter.writeValueAsBytes(product));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        forEachProduct(product -> {
+            try {
+                writer.write(toCsvLine(product));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void forEachProduct(Consumer<ProductResponse> action) throws IOException {
+        // Rows arrive ordered by product id, one per category; a product is complete when the id changes
+        try (Stream<ProductCategoryRowProjection> rows = productRepository.streamProductRowsWithCategories()) {
+            Iterator<ProductCategoryRowProjection> iterator = rows.iterator();
+            ProductResponse current = null;
+            while (iterator.hasNext()) {
+                ProductCategoryRowProjection row = iterator.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        action.accept(current);
+                    }
+                    current = new ProductResponse(row);
+                }
+                if (row.getCategoryId() != null) {
+                    current.getCategories().add(new CategoryResponse(row.getCategoryId(), row.getCategoryName()));
+                }
+            }
+            if (current != null) {
+                action.accept(current);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String toCsvLine(ProductResponse product) {
+        String categoryIds = product.getCategories().stream()
+                .map(category -> category.getId().toString())
+                .collect(Collectors.joining(";"));
+        String categoryNames = product.getCategories().stream()
+                .map(CategoryResponse::getName)
+                .collect(Collectors.joining(";"));
+        return Stream.of(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                        product.getImgUrl(), product.getDate(), categoryIds, categoryNames)
+                .map(value -> toCsvField(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    private static String toCsvField(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
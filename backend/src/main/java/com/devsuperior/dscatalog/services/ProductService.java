@@ -2,44 +2,93 @@ package com.devsuperior.dscatalog.services;
 
 import com.devsuperior.dscatalog.dto.requests.CategoryProductRequest;
 import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
+import com.devsuperior.dscatalog.dto.responses.CursorPageResponse;
 import com.devsuperior.dscatalog.dto.responses.ProductResponse;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.IdProjection;
+import com.devsuperior.dscatalog.projections.ProductCategoryRowProjection;
 import com.devsuperior.dscatalog.projections.ProductProjection;
+import com.devsuperior.dscatalog.projections.ProductSearchProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.cache.ProductSnapshot;
+import com.devsuperior.dscatalog.services.cache.ProductSnapshotCache;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
+import com.devsuperior.dscatalog.services.search.ProductCountCache;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
+import com.devsuperior.dscatalog.util.KeysetCursor;
+import com.devsuperior.dscatalog.util.ResourceVersion;
 import com.devsuperior.dscatalog.util.Utils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 public class ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCountCache productCountCache;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
 
     public ProductService(
             ProductRepository productRepository,
-            CategoryRepository categoryRepository
+            CategoryRepository categoryRepository,
+            ProductSearchIndex productSearchIndex,
+            ProductCountCache productCountCache,
+            ProductSnapshotCache productSnapshotCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
     ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.productCountCache = productCountCache;
+        this.productSnapshotCache = productSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductResponse> findAll(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
-        return products.map(ProductResponse::new);
+        Page<ProductProjection> page = productRepository.searchAll(pageable);
+        return new PageImpl<>(findProductsWithCategories(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> findAllByCursor(String cursor, int size, boolean withCount) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
+
+        List<ProductProjection> rows = productRepository.searchProductsAfter(after.name(), after.id(), pageSize + 1);
+        Long total = withCount ? productRepository.count() : null;
+        return toCursorPage(rows, pageSize, total, this::findProductsWithCategories);
     }
 
     @Transactional(readOnly = true)
@@ -50,12 +99,24 @@ public class ProductService {
         return new ProductResponse(product, product.getCategories());
     }
 
+    @Transactional(readOnly = true)
+    public ResourceVersion findVersion() {
+        // Product responses embed category names, so a category rename changes them too
+        return ResourceVersion.ofCollection(productRepository.findLastModified(), categoryRepository.findLastModified());
+    }
+
+    public ProductSnapshot findSnapshotById(Long id) {
+        // Only a cache miss opens a transaction; hits are served without touching a connection
+        return productSnapshotCache.get(id, () -> readOnlyTransaction.execute(status -> findById(id)));
+    }
+
     @Transactional
     public ProductResponse insert(ProductRequest request) {
         Product product = new Product();
         copyDtoToEntity(request, product);
 
         Product inserted = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(inserted));
         return new ProductResponse(inserted, product.getCategories());
     }
 
@@ -64,8 +125,11 @@ public class ProductService {
         try {
             Product product = productRepository.getReferenceById(id);
             copyDtoToEntity(request, product);
+            // A change limited to the categories does not dirty the product row itself
+            product.setUpdatedAt(OffsetDateTime.now());
 
             Product updated = productRepository.save(product);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(updated));
             return new ProductResponse(updated, updated.getCategories());
         } catch (jakarta.persistence.EntityNotFoundException e) {
             throw new EntityNotFoundException("Product", "id", id.toString());
@@ -79,6 +143,7 @@ public class ProductService {
         }
         try {
             productRepository.deleteById(id);
+            eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         } catch (DataIntegrityViolationException ex) {
             throw new DatabaseIntegrityException();
         }
@@ -98,27 +163,109 @@ public class ProductService {
         }
     }
 
-    @SuppressWarnings("unchecked")
     @Transactional(readOnly = true)
     public Page<ProductResponse> findAllProductProjection(String categoryId, String name, Pageable pageable) {
+        List<Long> categoryIds = parseCategoryIds(categoryId);
+
+        if (productSearchIndex.isEnabled() && productSearchIndex.supports(pageable.getSort())) {
+            Page<Long> page = productSearchIndex.search(categoryIds, name, pageable);
+            List<IdProjection<Long>> ordered = page.map(id -> (IdProjection<Long>) () -> id).toList();
+            return new PageImpl<>(findProductResponses(ordered), page.getPageable(), page.getTotalElements());
+        }
+
+        long generation = productCountCache.generation();
+        if (productCountCache.getIfPresent(categoryIds, name) != null) {
+            Slice<ProductProjection> slice = productRepository.searchProducts(categoryIds, name, pageable);
+            long total = productCountCache.count(categoryIds, name, pageable, slice.getNumberOfElements(), generation);
+            return new PageImpl<>(findProductResponses(slice.getContent()), pageable, total);
+        }
+
+        // No cached total yet: the page ids come back with COUNT(*) OVER(), so only an empty page needs a count
+        List<ProductSearchProjection> rows = productRepository.searchProductsWithTotal(categoryIds, name, pageable);
+        long total;
+        if (rows.isEmpty()) {
+            total = productCountCache.count(categoryIds, name, pageable, 0, generation);
+        } else {
+            total = rows.getFirst().getTotal();
+            productCountCache.put(categoryIds, name, total, generation);
+        }
+        return new PageImpl<>(findProductResponses(rows), pageable, total);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> findAllProductProjectionByCursor(
+            String categoryId, String name, String cursor, int size, boolean withCount
+    ) {
+        List<Long> categoryIds = parseCategoryIds(categoryId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = cursorPageSize(size);
 
+        List<ProductProjection> rows = productRepository.searchProductsAfter(
+                categoryIds, name, after.name(), after.id(), pageSize + 1);
+        Long total = withCount
+                ? productCountCache.get(categoryIds, name)
+                : null;
+        return toCursorPage(rows, pageSize, total, this::findProductResponses);
+    }
+
+    static List<Long> parseCategoryIds(String categoryId) {
         List<Long> categoryIds = Arrays.asList();
 
         if (!"0".equals(categoryId)) {
             categoryIds = Arrays.stream(categoryId.split(",")).map(Long::parseLong).toList();
         }
+        return categoryIds;
+    }
 
-        Page<ProductProjection> page = productRepository.searchProducts(categoryIds ,name, pageable);
-        List<Long> productIds = page.map(ProductProjection::getId).toList();
+    private static int cursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private static CursorPageResponse<ProductResponse> toCursorPage(
+            List<ProductProjection> rows, int pageSize, Long total,
+            Function<List<ProductProjection>, List<ProductResponse>> hydrator
+    ) {
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductProjection> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductProjection last = page.getLast();
+            nextCursor = new KeysetCursor(last.getName(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(hydrator.apply(page), pageSize, nextCursor, total);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProductResponse> findProductsWithCategories(List<? extends IdProjection<Long>> ordered) {
+        if (ordered.isEmpty()) {
+            return List.of();
+        }
+        List<Long> productIds = ordered.stream().map(IdProjection::getId).toList();
 
         List<Product> entities = productRepository.searchProductsWithCategories(productIds);
 
-        entities = (List<Product>) Utils.replaceSort(page.getContent(), entities);
+        entities = (List<Product>) Utils.replaceSort(ordered, entities);
 
-        List<ProductResponse> responses = entities.stream()
+        return entities.stream()
                 .map(p -> new ProductResponse(p, p.getCategories()))
                 .toList();
+    }
+
+    private List<ProductResponse> findProductResponses(List<? extends IdProjection<Long>> ordered) {
+        if (ordered.isEmpty()) {
+            return List.of();
+        }
+        List<Long> productIds = ordered.stream().map(IdProjection::getId).toList();
+
+        Map<Long, ProductResponse> responses = new LinkedHashMap<>();
+        for (ProductCategoryRowProjection row : productRepository.searchProductRowsWithCategories(productIds)) {
+            ProductResponse response = responses.computeIfAbsent(row.getId(), id -> new ProductResponse(row));
+            if (row.getCategoryId() != null) {
+                response.getCategories().add(new CategoryResponse(row.getCategoryId(), row.getCategoryName()));
+            }
+        }
 
-        return new PageImpl<>(responses, page.getPageable(), page.getTotalElements());
+        return productIds.stream().map(responses::get).filter(Objects::nonNull).toList();
     }
 }
@@ -1,5 +1,6 @@
 package com.devsuperior.dscatalog.services;
 
+import com.devsuperior.dscatalog.config.datasource.PrimaryRouting;
 import com.devsuperior.dscatalog.dto.requests.RoleRequest;
 import com.devsuperior.dscatalog.dto.requests.UserInsertRequest;
 import com.devsuperior.dscatalog.dto.requests.UserRequest;
@@ -13,7 +14,10 @@ import com.devsuperior.dscatalog.repositories.UserRepository;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
 import com.devsuperior.dscatalog.services.exceptions.UniqueKeyDatabaseException;
+import com.devsuperior.dscatalog.services.cache.UserDetailsCache;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
 import com.devsuperior.dscatalog.services.exceptions.UserNotLoggedException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -36,15 +40,21 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserService(
             UserRepository userRepository,
             RoleRepository roleRepository,
-            PasswordEncoder passwordEncoder
+            PasswordEncoder passwordEncoder,
+            UserDetailsCache userDetailsCache,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -83,9 +93,14 @@ public class UserService implements UserDetailsService {
     public UserResponse update(UserUpdateRequest request, Long id) {
         try {
             User user = userRepository.getReferenceById(id);
+            String previousEmail = user.getEmail();
             copyDtoToEntity(request, user);
 
             User updated = userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(previousEmail));
+            if (!previousEmail.equals(updated.getEmail())) {
+                eventPublisher.publishEvent(new UserChangedEvent(updated.getEmail()));
+            }
             return new UserResponse(updated);
         } catch (jakarta.persistence.EntityNotFoundException ex) {
             throw new EntityNotFoundException("User", "id", id.toString());
@@ -94,11 +109,12 @@ public class UserService implements UserDetailsService {
 
     @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteById(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User", "id", id.toString());
-        }
+        User user = userRepository.findById(id).orElseThrow(
+                () -> new EntityNotFoundException("User", "id", id.toString())
+        );
         try {
             userRepository.deleteById(id);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
         } catch (DataIntegrityViolationException ex) {
             throw new DatabaseIntegrityException();
         }
@@ -106,7 +122,9 @@ public class UserService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        List<UserDetailsProjection> result = userRepository.searchUserAndRolesByEmail(username);
+        // Cached for the whole TTL, so a replica that has not seen a new password yet must not be asked
+        List<UserDetailsProjection> result = userDetailsCache.get(username,
+                key -> PrimaryRouting.call(() -> userRepository.searchUserAndRolesByEmail(key)));
         if (result.isEmpty()) {
             throw new UsernameNotFoundException("User not found");
         }
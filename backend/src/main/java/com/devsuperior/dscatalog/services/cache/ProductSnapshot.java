@@ -0,0 +1,13 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * Serialized JSON of a product detail response, stamped with an ETag derived from its content.
+ */
+public record ProductSnapshot(byte[] json, String etag) {
+
+    public static ProductSnapshot of(byte[] json) {
+        return new ProductSnapshot(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+}
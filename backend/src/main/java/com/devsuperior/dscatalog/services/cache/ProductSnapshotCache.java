@@ -0,0 +1,79 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the serialized detail response of each product so hot product pages skip the entity load
+ * and the JSON serialization. Entries are dropped once a change to the product, or to any category,
+ * has been committed. Entries also expire after a fixed time, which bounds how long a snapshot loaded
+ * concurrently with an invalidation, or from a lagging replica, can be served.
+ */
+@Component
+public class ProductSnapshotCache implements MeterBinder {
+
+    private final Cache<Long, ProductSnapshot> cache;
+    private final ObjectMapper objectMapper;
+
+    public ProductSnapshotCache(
+            ObjectMapper objectMapper,
+            @Value("${dscatalog.product.snapshot-cache.ttl-seconds}") Long ttlSeconds,
+            @Value("${dscatalog.product.snapshot-cache.maximum-size}") Long maximumSize
+    ) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public ProductSnapshot get(Long productId, Supplier<ProductResponse> loader) {
+        return cache.get(productId, id -> serialize(loader.get()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        cache.invalidate(event.productId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsInserted(ProductsInsertedEvent event) {
+        cache.invalidateAll(event.productIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Category names are embedded in every product that references them
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "productSnapshot");
+    }
+
+    private ProductSnapshot serialize(ProductResponse response) {
+        try {
+            return ProductSnapshot.of(objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import com.devsuperior.dscatalog.projections.UserDetailsProjection;
+import com.devsuperior.dscatalog.services.events.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Keeps the credential and role rows of recently authenticated users so login bursts do not repeat
+ * the user/role join. Entries expire after a short TTL and are dropped as soon as a change to the
+ * user, its roles or its password has been committed. Unknown users are never cached.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private final Cache<String, List<UserDetailsProjection>> cache;
+    private final LongAdder invalidations = new LongAdder();
+
+    public UserDetailsCache(
+            @Value("${dscatalog.security.user-details-cache.ttl}") Duration ttl,
+            @Value("${dscatalog.security.user-details-cache.maximum-size}") Long maximumSize
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public List<UserDetailsProjection> get(String username, Function<String, List<UserDetailsProjection>> loader) {
+        List<UserDetailsProjection> rows = cache.get(username, key -> {
+            List<UserDetailsProjection> loaded = loader.apply(key);
+            return loaded.isEmpty() ? null : List.copyOf(loaded);
+        });
+        return rows == null ? List.of() : rows;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidations.increment();
+        cache.invalidate(event.username());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "userDetails");
+        FunctionCounter.builder("dscatalog.security.user.details.cache.invalidations", invalidations, LongAdder::sum)
+                .description("User details entries dropped after a user, role or password change")
+                .register(registry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Keeps bearer tokens that already passed signature and claim validation, keyed by a SHA-256 hash
+ * of the token, together with the authorities converted from them. An entry lives until the exp
+ * of its token, so repeated requests with the same token skip the RSA verification and the
+ * authority conversion. Tokens without exp are never cached.
+ */
+@Component
+public class VerifiedJwtCache implements MeterBinder {
+
+    private final Cache<String, VerifiedJwt> cache;
+
+    public VerifiedJwtCache(@Value("${dscatalog.security.jwt.cache.maximum-size}") Long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+    }
+
+    public JwtDecoder decoder(JwtDecoder delegate) {
+        return token -> decode(token, delegate);
+    }
+
+    public Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter(
+            Converter<Jwt, Collection<GrantedAuthority>> delegate) {
+        return jwt -> authorities(jwt, delegate);
+    }
+
+    public Jwt decode(String token, JwtDecoder delegate) {
+        VerifiedJwt verified = cache.getIfPresent(hash(token));
+        if (verified != null && verified.jwt().getTokenValue().equals(token)) {
+            return verified.jwt();
+        }
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            cache.put(hash(token), new VerifiedJwt(jwt, new AuthoritiesHolder()));
+        }
+        return jwt;
+    }
+
+    public Collection<GrantedAuthority> authorities(Jwt jwt, Converter<Jwt, Collection<GrantedAuthority>> delegate) {
+        VerifiedJwt verified = cache.getIfPresent(hash(jwt.getTokenValue()));
+        if (verified == null || verified.jwt() != jwt) {
+            return delegate.convert(jwt);
+        }
+        Collection<GrantedAuthority> authorities = verified.authorities().value;
+        if (authorities == null) {
+            authorities = List.copyOf(delegate.convert(jwt));
+            verified.authorities().value = authorities;
+        }
+        return authorities;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verifiedJwt");
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record VerifiedJwt(Jwt jwt, AuthoritiesHolder authorities) {
+    }
+
+    private static final class AuthoritiesHolder {
+        private volatile Collection<GrantedAuthority> value;
+    }
+
+    private static final class UntilTokenExpires implements Expiry<String, VerifiedJwt> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedJwt value, long currentTime) {
+            Instant expiresAt = value.jwt().getExpiresAt();
+            return Math.max(0L, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import com.devsuperior.dscatalog.services.events.CatalogDataGeneratedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * Fills the catalog, user and password recovery tables with synthetic rows for load and benchmark
+ * runs. Rows are appended after the existing ids and written with COPY on PostgreSQL and batched
+ * INSERTs elsewhere, bypassing JPA; identity sequences, the second-level cache and the search
+ * caches are brought up to date once everything is committed. A failed run keeps the rows it had
+ * already committed and still moves the identities past them. The same spec and seed always
+ * produce the same rows.
+ */
+@Component
+public class CatalogDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogDataGenerator.class);
+
+    private static final String IMG_URL =
+            "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/%d-big.jpg";
+    private static final int PRODUCT_NAME_MAX_LENGTH = 100;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogDataGenerator(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public CatalogDataSummary generate(CatalogDataSpec spec) {
+        long start = System.nanoTime();
+        Vocabulary vocabulary = Vocabulary.load(spec.getVocabulary());
+        CatalogDataSummary summary;
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            connection.setAutoCommit(false);
+            try {
+                summary = generate(connection, postgres, spec, vocabulary, start);
+            } catch (SQLException | RuntimeException e) {
+                // The writers commit table by table or batch by batch, so the rows written before the
+                // failure stay; only the open batch is discarded, and the identities still move past them
+                try {
+                    connection.rollback();
+                    restartIdentities(connection, postgres);
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not generate catalog data", e);
+        }
+
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        eventPublisher.publishEvent(new CatalogDataGeneratedEvent(summary.products()));
+        log.info("Generated {} products, {} categories, {} users and {} password recoveries in {} s",
+                summary.products(), summary.categories(), summary.users(), summary.passwordRecovers(),
+                summary.elapsed().toSeconds());
+        return summary;
+    }
+
+    private CatalogDataSummary generate(Connection connection, boolean postgres, CatalogDataSpec spec,
+                                        Vocabulary vocabulary, long start) throws SQLException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Tables tables = new Tables(connection, postgres, spec.getBatchSize(), spec.getSeed());
+
+        long categories = tables.write("tb_category", List.of("id", "name", "created_at"), spec.getCategories(),
+                (writer, id, random) -> writer.write(id, categoryName(vocabulary, id), now));
+        long[] categoryIds = queryIds(connection, "SELECT id FROM tb_category ORDER BY id");
+        ZipfSampler categorySampler = new ZipfSampler(categoryIds.length, spec.getCategorySkew());
+
+        long firstProductId = maxId(connection, "tb_product") + 1;
+        StringBuilder description = new StringBuilder(spec.getDescriptionMaxLength() + 128);
+        long products = tables.write("tb_product",
+                List.of("id", "name", "description", "price", "img_url", "date", "created_at"), spec.getProducts(),
+                (writer, id, random) -> {
+                    OffsetDateTime date = now.minusMinutes(random.nextLong(5L * 365 * 24 * 60));
+                    writer.write(id, productName(vocabulary, random), description(vocabulary, spec, random, description),
+                            price(random), IMG_URL.formatted(id % 25 + 1), date, date);
+                });
+
+        long productCategories = tables.link("tb_product_category", List.of("product_id", "category_id"),
+                firstProductId, products, (writer, productId, random) -> {
+                    int count = 1 + random.nextInt(Math.max(1, spec.getMaxCategoriesPerProduct()));
+                    long[] chosen = new long[Math.min(count, categoryIds.length)];
+                    int size = 0;
+                    for (int attempt = 0; size < chosen.length && attempt < chosen.length * 4; attempt++) {
+                        long categoryId = categoryIds[categorySampler.sample(random)];
+                        if (!contains(chosen, size, categoryId)) {
+                            chosen[size++] = categoryId;
+                            writer.write(productId, categoryId);
+                        }
+                    }
+                });
+
+        Map<String, Long> roles = roles(connection);
+        Long operator = roles.get("ROLE_OPERATOR");
+        Long admin = roles.get("ROLE_ADMIN");
+        if (operator == null && spec.getUsers() > 0) {
+            throw new IllegalStateException("ROLE_OPERATOR must exist before users are generated");
+        }
+        String password = passwordEncoder.encode(spec.getPassword());
+        long firstUserId = maxId(connection, "tb_user") + 1;
+        long users = tables.write("tb_user", List.of("id", "first_name", "last_name", "email", "password"),
+                spec.getUsers(), (writer, id, random) -> {
+                    UserName name = UserName.of(vocabulary, spec.getSeed(), id);
+                    writer.write(id, name.first(), name.last(), name.email(id), password);
+                });
+
+        long userRoles = tables.link("tb_user_role", List.of("user_id", "role_id"), firstUserId, users,
+                (writer, userId, random) -> {
+                    writer.write(userId, operator);
+                    if (admin != null && random.nextDouble() < spec.getAdminRatio()) {
+                        writer.write(userId, admin);
+                    }
+                });
+
+        long passwordRecovers = users == 0 ? 0 : tables.write("tb_password_recover",
+                List.of("id", "token", "email", "created_at", "expiration", "used_at"), spec.getPasswordRecovers(),
+                (writer, id, random) -> {
+                    long userId = firstUserId + random.nextLong(users);
+                    OffsetDateTime createdAt = now.minusMinutes(random.nextLong(30L * 24 * 60));
+                    // Most links get used or expire; the rest are the live ones the partial indexes keep
+                    OffsetDateTime usedAt = random.nextDouble() < 0.6
+                            ? createdAt.plusMinutes(1 + random.nextInt(29))
+                            : null;
+                    writer.write(id, new UUID(random.nextLong(), random.nextLong()).toString(),
+                            UserName.of(vocabulary, spec.getSeed(), userId).email(userId),
+                            createdAt, createdAt.plusMinutes(30), usedAt);
+                });
+
+        restartIdentities(connection, postgres);
+
+        return new CatalogDataSummary(categories, products, productCategories, users, userRoles, passwordRecovers,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static String categoryName(Vocabulary vocabulary, long id) {
+        List<String> names = vocabulary.categories();
+        String name = names.get((int) (id % names.size()));
+        return id < names.size() ? name : name + " " + (id / names.size() + 1);
+    }
+
+    private static String productName(Vocabulary vocabulary, RandomGenerator random) {
+        String name = vocabulary.noun(random) + " " + vocabulary.brand(random) + " " + vocabulary.adjective(random)
+                + " " + (100 + random.nextInt(9900));
+        return name.length() <= PRODUCT_NAME_MAX_LENGTH ? name : name.substring(0, PRODUCT_NAME_MAX_LENGTH).strip();
+    }
+
+    private static String description(Vocabulary vocabulary, CatalogDataSpec spec, RandomGenerator random,
+                                      StringBuilder buffer) {
+        // Squaring the draw keeps most descriptions short with a tail of long ones
+        double draw = random.nextDouble();
+        int length = spec.getDescriptionMinLength()
+                + (int) ((spec.getDescriptionMaxLength() - spec.getDescriptionMinLength()) * draw * draw);
+        buffer.setLength(0);
+        while (buffer.length() < length) {
+            int words = 6 + random.nextInt(9);
+            for (int i = 0; i < words; i++) {
+                String word = vocabulary.word(random);
+                if (i == 0) {
+                    buffer.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+                } else {
+                    buffer.append(' ').append(word);
+                }
+            }
+            buffer.append(". ");
+        }
+        // Cut on a word boundary when that still leaves the minimum length
+        int cut = buffer.lastIndexOf(" ", length);
+        return buffer.substring(0, cut >= spec.getDescriptionMinLength() ? cut : length);
+    }
+
+    private static double price(RandomGenerator random) {
+        // Log-normal around R$ 150, like a general store
+        double price = Math.exp(5.0 + random.nextGaussian());
+        return Math.max(1.0, Math.round(price * 100) / 100.0);
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        long[] max = queryIds(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+        return max[0];
+    }
+
+    private static long[] queryIds(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Map<String, Long> roles(Connection connection) throws SQLException {
+        Map<String, Long> roles = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, authority FROM tb_role")) {
+            while (rows.next()) {
+                roles.put(rows.getString(2), rows.getLong(1));
+            }
+        }
+        return roles;
+    }
+
+    private static void restartIdentities(Connection connection, boolean postgres) throws SQLException {
+        for (String table : List.of("tb_category", "tb_product", "tb_user", "tb_password_recover")) {
+            restartIdentity(connection, postgres, table);
+        }
+        connection.commit();
+    }
+
+    private static void restartIdentity(Connection connection, boolean postgres, String table) throws SQLException {
+        long next = maxId(connection, table) + 1;
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + next + ", false)");
+            } else {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+    }
+
+    /**
+     * Name of a generated user, drawn from its id so password recoveries can address the same email
+     * without keeping every user in memory.
+     */
+    private record UserName(String first, String last) {
+
+        static UserName of(Vocabulary vocabulary, long seed, long id) {
+            RandomGenerator random = new SplittableRandom(seed * 31 + id);
+            return new UserName(vocabulary.firstName(random), vocabulary.lastName(random));
+        }
+
+        String email(long id) {
+            String local = Normalizer.normalize(first + "." + last, Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}+", "")
+                    .replaceAll("[^A-Za-z.]", "")
+                    .toLowerCase(Locale.ROOT);
+            return local + "." + id + "@dscatalog.dev";
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+
+        void write(RowWriter writer, long key, RandomGenerator random) throws SQLException;
+    }
+
+    /**
+     * Runs one pass per table, each with its own random stream so changing one count does not
+     * reshuffle the other tables.
+     */
+    private record Tables(Connection connection, boolean postgres, int batchSize, long seed) {
+
+        long write(String table, List<String> columns, long rows, RowSource source) throws SQLException {
+            long firstId = maxId(connection, table) + 1;
+            return run(table, columns, firstId, rows, source);
+        }
+
+        long link(String table, List<String> columns, long firstKey, long keys, RowSource source) throws SQLException {
+            return run(table, columns, firstKey, keys, source);
+        }
+
+        private long run(String table, List<String> columns, long firstKey, long keys, RowSource source)
+                throws SQLException {
+            if (keys <= 0) {
+                return 0;
+            }
+            long start = System.nanoTime();
+            RandomGenerator random = new SplittableRandom(seed ^ table.hashCode());
+            RowWriter writer = RowWriter.open(connection, postgres, table, columns, batchSize);
+            try (writer) {
+                for (long key = firstKey; key < firstKey + keys; key++) {
+                    source.write(writer, key, random);
+                }
+            }
+            log.info("Wrote {} rows to {} in {} ms", writer.count(), table,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return writer.count();
+        }
+    }
+}
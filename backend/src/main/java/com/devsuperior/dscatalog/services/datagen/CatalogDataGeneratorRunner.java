@@ -0,0 +1,70 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the synthetic catalog described by {@code dscatalog.datagen.*} when the application
+ * starts with the {@code datagen} profile, then shuts down unless told to keep serving.
+ */
+@Component
+@Profile("datagen")
+public class CatalogDataGeneratorRunner implements ApplicationRunner {
+
+    private final CatalogDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final CatalogDataSpec spec;
+    private final boolean exitWhenDone;
+
+    public CatalogDataGeneratorRunner(
+            CatalogDataGenerator generator,
+            ConfigurableApplicationContext context,
+            @Value("${dscatalog.datagen.categories}") Long categories,
+            @Value("${dscatalog.datagen.products}") Long products,
+            @Value("${dscatalog.datagen.users}") Long users,
+            @Value("${dscatalog.datagen.password-recovers}") Long passwordRecovers,
+            @Value("${dscatalog.datagen.category-skew}") Double categorySkew,
+            @Value("${dscatalog.datagen.max-categories-per-product}") Integer maxCategoriesPerProduct,
+            @Value("${dscatalog.datagen.description-min-length}") Integer descriptionMinLength,
+            @Value("${dscatalog.datagen.description-max-length}") Integer descriptionMaxLength,
+            @Value("${dscatalog.datagen.admin-ratio}") Double adminRatio,
+            @Value("${dscatalog.datagen.password}") String password,
+            @Value("${dscatalog.datagen.vocabulary}") Resource vocabulary,
+            @Value("${dscatalog.datagen.batch-size}") Integer batchSize,
+            @Value("${dscatalog.datagen.seed}") Long seed,
+            @Value("${dscatalog.datagen.exit-when-done}") boolean exitWhenDone
+    ) {
+        this.generator = generator;
+        this.context = context;
+        this.exitWhenDone = exitWhenDone;
+        this.spec = CatalogDataSpec.builder()
+                .categories(categories)
+                .products(products)
+                .users(users)
+                .passwordRecovers(passwordRecovers)
+                .categorySkew(categorySkew)
+                .maxCategoriesPerProduct(maxCategoriesPerProduct)
+                .descriptionMinLength(descriptionMinLength)
+                .descriptionMaxLength(descriptionMaxLength)
+                .adminRatio(adminRatio)
+                .password(password)
+                .vocabulary(vocabulary)
+                .batchSize(batchSize)
+                .seed(seed)
+                .build();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate(spec);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * What {@link CatalogDataGenerator} writes: row counts per table and the shape of the generated
+ * values. The defaults give a small catalog; the {@code datagen} profile builds one from
+ * {@code dscatalog.datagen.*}.
+ */
+@Getter
+@Builder
+public class CatalogDataSpec {
+
+    @Builder.Default
+    private long categories = 50;
+
+    @Builder.Default
+    private long products = 10_000;
+
+    @Builder.Default
+    private long users = 1_000;
+
+    @Builder.Default
+    private long passwordRecovers = 1_000;
+
+    // Zipf exponent of the category popularity; 0 spreads products evenly
+    @Builder.Default
+    private double categorySkew = 1.1;
+
+    @Builder.Default
+    private int maxCategoriesPerProduct = 3;
+
+    @Builder.Default
+    private int descriptionMinLength = 80;
+
+    @Builder.Default
+    private int descriptionMaxLength = 2_000;
+
+    // Share of generated users that also get ROLE_ADMIN
+    @Builder.Default
+    private double adminRatio = 0.05;
+
+    @Builder.Default
+    private String password = "123456";
+
+    @Builder.Default
+    private Resource vocabulary = new ClassPathResource("datagen/vocabulary-pt.txt");
+
+    @Builder.Default
+    private int batchSize = 5_000;
+
+    @Builder.Default
+    private long seed = 42;
+}
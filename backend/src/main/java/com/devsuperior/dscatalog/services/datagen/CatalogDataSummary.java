@@ -0,0 +1,14 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import java.time.Duration;
+
+public record CatalogDataSummary(
+        long categories,
+        long products,
+        long productCategories,
+        long users,
+        long userRoles,
+        long passwordRecovers,
+        Duration elapsed
+) {
+}
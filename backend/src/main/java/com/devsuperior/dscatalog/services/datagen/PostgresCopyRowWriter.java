@@ -0,0 +1,95 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams rows through {@code COPY ... FROM STDIN} in PostgreSQL's text format, which skips the
+ * per-row parse, bind and execute of an {@code INSERT}. The whole table is one COPY, committed at
+ * the end.
+ */
+class PostgresCopyRowWriter implements RowWriter {
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final Connection connection;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 8192);
+    private final int batchSize;
+    private int pending;
+    private long count;
+
+    PostgresCopyRowWriter(Connection connection, String table, List<String> columns, int batchSize)
+            throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.copyIn = new CopyManager(connection.unwrap(BaseConnection.class))
+                .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN");
+    }
+
+    @Override
+    public void write(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append('\t');
+            }
+            append(values[i]);
+        }
+        buffer.append('\n');
+        count++;
+        if (++pending >= batchSize || buffer.length() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            copyIn.endCopy();
+            connection.commit();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (!buffer.isEmpty()) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+            pending = 0;
+        }
+    }
+
+    private void append(Object value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
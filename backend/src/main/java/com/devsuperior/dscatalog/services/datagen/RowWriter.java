@@ -0,0 +1,26 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams rows into one table. Rows are buffered and sent in batches; {@link #close()} sends the
+ * rest and commits.
+ */
+interface RowWriter extends AutoCloseable {
+
+    void write(Object... values) throws SQLException;
+
+    long count();
+
+    @Override
+    void close() throws SQLException;
+
+    static RowWriter open(Connection connection, boolean copy, String table, List<String> columns, int batchSize)
+            throws SQLException {
+        return copy
+                ? new PostgresCopyRowWriter(connection, table, columns, batchSize)
+                : new JdbcBatchRowWriter(connection, table, columns, batchSize);
+    }
+}
@@ -0,0 +1,91 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Word lists the generated rows are made of, read from a UTF-8 file split into {@code [section]}
+ * blocks with one entry per line. Lines starting with {@code #} are comments.
+ */
+class Vocabulary {
+
+    private static final List<String> SECTIONS =
+            List.of("categories", "nouns", "adjectives", "brands", "words", "first-names", "last-names");
+
+    private final Map<String, List<String>> sections;
+
+    private Vocabulary(Map<String, List<String>> sections) {
+        this.sections = sections;
+    }
+
+    static Vocabulary load(Resource resource) {
+        Map<String, List<String>> sections = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[") && line.endsWith("]")) {
+                    current = sections.computeIfAbsent(line.substring(1, line.length() - 1), key -> new ArrayList<>());
+                } else if (current != null) {
+                    current.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String section : SECTIONS) {
+            if (sections.getOrDefault(section, List.of()).isEmpty()) {
+                throw new IllegalArgumentException("Vocabulary " + resource.getDescription() + " has no [" + section + "]");
+            }
+        }
+        return new Vocabulary(sections);
+    }
+
+    List<String> categories() {
+        return sections.get("categories");
+    }
+
+    String noun(RandomGenerator random) {
+        return pick("nouns", random);
+    }
+
+    String adjective(RandomGenerator random) {
+        return pick("adjectives", random);
+    }
+
+    String brand(RandomGenerator random) {
+        return pick("brands", random);
+    }
+
+    String word(RandomGenerator random) {
+        return pick("words", random);
+    }
+
+    String firstName(RandomGenerator random) {
+        return pick("first-names", random);
+    }
+
+    String lastName(RandomGenerator random) {
+        return pick("last-names", random);
+    }
+
+    private String pick(String section, RandomGenerator random) {
+        List<String> words = sections.get(section);
+        return words.get(random.nextInt(words.size()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^exponent}, so a
+ * few categories hold most of the catalog as they do in a real store. An exponent of zero draws
+ * uniformly.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Nothing to sample from");
+        }
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+    }
+
+    int sample(RandomGenerator random) {
+        double target = random.nextDouble(cumulative[cumulative.length - 1]);
+        int index = Arrays.binarySearch(cumulative, target);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -0,0 +1,4 @@
+package com.devsuperior.dscatalog.services.events;
+
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,21 @@
+package com.devsuperior.dscatalog.services.events;
+
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record ProductChangedEvent(Long productId, String name, Set<Long> categoryIds, boolean deleted) {
+
+    public static ProductChangedEvent saved(Product product) {
+        Set<Long> categoryIds = product.getCategories().stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+        return new ProductChangedEvent(product.getId(), product.getName(), categoryIds, false);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null, Set.of(), true);
+    }
+}
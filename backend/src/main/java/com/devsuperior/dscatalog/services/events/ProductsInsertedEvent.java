@@ -0,0 +1,13 @@
+package com.devsuperior.dscatalog.services.events;
+
+import java.util.List;
+
+/**
+ * Published once per committed import chunk, so listeners invalidate once per chunk instead of once per row.
+ */
+public record ProductsInsertedEvent(List<ProductChangedEvent> products) {
+
+    public List<Long> productIds() {
+        return products.stream().map(ProductChangedEvent::productId).toList();
+    }
+}
@@ -0,0 +1,7 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException() {
+        super("Invalid page cursor");
+    }
+}
@@ -0,0 +1,17 @@
+package com.devsuperior.dscatalog.services.exceptions;
+
+import java.time.Duration;
+
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingUnavailableException(Duration retryAfter) {
+        super("Too many password checks in progress, please try again later");
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, (retryAfter.toMillis() + 999L) / 1000L);
+    }
+}
@@ -0,0 +1,132 @@
+package com.devsuperior.dscatalog.services.mail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A template parsed once into static text segments and typed placeholders. {@code {{name}}} is
+ * HTML-escaped text and {@code {{url:name}}} is an escaped link that only keeps http, https and
+ * mailto targets.
+ */
+final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // Room reserved per placeholder when sizing the output buffer
+    private static final int PLACEHOLDER_ESTIMATE = 64;
+
+    private final String name;
+    private final List<Segment> segments;
+    private final int estimatedLength;
+
+    private EmailTemplate(String name, List<Segment> segments) {
+        this.name = name;
+        this.segments = List.copyOf(segments);
+        this.estimatedLength = segments.stream()
+                .mapToInt(segment -> segment instanceof Literal literal ? literal.text().length() : PLACEHOLDER_ESTIMATE)
+                .sum();
+    }
+
+    static EmailTemplate compile(String name, String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                segments.add(new Literal(source.substring(position)));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in template " + name + " at offset " + open);
+            }
+            if (open > position) {
+                segments.add(new Literal(source.substring(position, open)));
+            }
+            segments.add(Placeholder.parse(name, source.substring(open + OPEN.length(), close).trim()));
+            position = close + CLOSE.length();
+        }
+        return new EmailTemplate(name, segments);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getEstimatedLength() {
+        return estimatedLength;
+    }
+
+    void render(Map<String, ?> values, StringBuilder out) {
+        for (Segment segment : segments) {
+            if (segment instanceof Literal literal) {
+                out.append(literal.text());
+            } else if (segment instanceof Placeholder placeholder) {
+                Object value = values.get(placeholder.name());
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                            "Missing value for placeholder " + placeholder.name() + " in template " + name);
+                }
+                placeholder.type().write(String.valueOf(value), out);
+            }
+        }
+    }
+
+    private sealed interface Segment permits Literal, Placeholder {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Placeholder(PlaceholderType type, String name) implements Segment {
+
+        static Placeholder parse(String template, String token) {
+            int colon = token.indexOf(':');
+            if (colon < 0) {
+                return new Placeholder(PlaceholderType.TEXT, token);
+            }
+            String type = token.substring(0, colon).trim().toUpperCase(Locale.ROOT);
+            try {
+                return new Placeholder(PlaceholderType.valueOf(type), token.substring(colon + 1).trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Unknown placeholder type " + type + " in template " + template);
+            }
+        }
+    }
+
+    private enum PlaceholderType {
+        TEXT {
+            @Override
+            void write(String value, StringBuilder out) {
+                escapeHtml(value, out);
+            }
+        },
+        URL {
+            @Override
+            void write(String value, StringBuilder out) {
+                String lower = value.trim().toLowerCase(Locale.ROOT);
+                boolean safe = lower.startsWith("https://") || lower.startsWith("http://") || lower.startsWith("mailto:");
+                escapeHtml(safe ? value.trim() : "#", out);
+            }
+        };
+
+        abstract void write(String value, StringBuilder out);
+    }
+
+    static void escapeHtml(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.devsuperior.dscatalog.services.mail;
+
+import com.devsuperior.dscatalog.services.exceptions.EmailException;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the HTML email templates under {@code templates/email}. The template files are listed once,
+ * each locale falls back from {@code name_lang_COUNTRY.html} to {@code name.html} among them, and every
+ * file is compiled once and cached by file name, so new locales never add cache entries. Each render
+ * writes into a buffer sized from the template's estimated length, so it rarely has to grow.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    private static final String LOCATION = "templates/email/";
+    private static final String EXTENSION = ".html";
+
+    private final Set<String> files = listFiles();
+    private final Map<String, EmailTemplate> templates = new ConcurrentHashMap<>();
+
+    public String render(String name, Locale locale, Map<String, ?> values) {
+        EmailTemplate template = templates.computeIfAbsent(resolve(name, locale), this::load);
+
+        StringBuilder buffer = new StringBuilder(template.getEstimatedLength());
+        template.render(values, buffer);
+        return buffer.toString();
+    }
+
+    int cachedTemplateCount() {
+        return templates.size();
+    }
+
+    private String resolve(String name, Locale locale) {
+        for (String candidate : candidates(name, locale)) {
+            if (files.contains(candidate)) {
+                return candidate;
+            }
+        }
+        throw new EmailException("Email template not found: " + name);
+    }
+
+    private EmailTemplate load(String file) {
+        ClassPathResource resource = new ClassPathResource(LOCATION + file + EXTENSION);
+        try (InputStream input = resource.getInputStream()) {
+            return EmailTemplate.compile(file, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Set<String> listFiles() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:" + LOCATION + "*" + EXTENSION);
+            Set<String> files = new HashSet<>();
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    files.add(filename.substring(0, filename.length() - EXTENSION.length()));
+                }
+            }
+            return Set.copyOf(files);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> candidates(String name, Locale locale) {
+        List<String> candidates = new ArrayList<>(3);
+        if (locale != null && !locale.getLanguage().isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+            }
+            candidates.add(name + "_" + locale.getLanguage());
+        }
+        candidates.add(name);
+        return candidates;
+    }
+}
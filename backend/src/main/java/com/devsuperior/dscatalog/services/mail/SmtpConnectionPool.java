@@ -0,0 +1,240 @@
+package com.devsuperior.dscatalog.services.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a small pool of connected, authenticated SMTP transports so consecutive emails skip the TCP,
+ * STARTTLS and AUTH round trips. Idle connections are checked before reuse and replaced when the
+ * server has dropped them; a connection-level failure is retried once on a fresh connection.
+ * Messages are sent one per call, but the most recently used connection is handed out first, so a
+ * burst of outbox deliveries runs over the same open session.
+ */
+@Component
+public class SmtpConnectionPool implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    // A connection used this recently is trusted without a NOOP round trip
+    private static final Duration VALIDATE_AFTER = Duration.ofSeconds(2);
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Integer maxMessagesPerConnection;
+    private final Duration maxIdle;
+    private final Duration borrowTimeout;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    public SmtpConnectionPool(
+            JavaMailSenderImpl mailSender,
+            @Value("${dscatalog.email.smtp-pool.size}") Integer size,
+            @Value("${dscatalog.email.smtp-pool.max-messages-per-connection}") Integer maxMessagesPerConnection,
+            @Value("${dscatalog.email.smtp-pool.max-idle}") Duration maxIdle,
+            @Value("${dscatalog.email.smtp-pool.borrow-timeout}") Duration borrowTimeout
+    ) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(size);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdle = maxIdle;
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        acquire();
+        try {
+            PooledTransport connection = borrow();
+            try {
+                connection.send(message);
+            } catch (SendFailedException e) {
+                // Rejected recipients do not break the session
+                release(connection);
+                failed.increment();
+                throw e;
+            } catch (MessagingException e) {
+                close(connection);
+                log.debug("SMTP connection failed, retrying on a new one", e);
+                connection = open();
+                sendOrClose(connection, message);
+            } catch (RuntimeException e) {
+                // The session state is unknown, so the connection cannot go back to the pool
+                close(connection);
+                failed.increment();
+                throw e;
+            }
+            release(connection);
+            sent.increment();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void evictIdle() {
+        List<PooledTransport> expired = new ArrayList<>();
+        idle.removeIf(connection -> connection.idleFor().compareTo(maxIdle) > 0 && expired.add(connection));
+        expired.forEach(SmtpConnectionPool::close);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        PooledTransport connection;
+        while ((connection = idle.poll()) != null) {
+            close(connection);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("dscatalog.mail.sent", sent, LongAdder::sum)
+                .description("Emails accepted by the SMTP server")
+                .register(registry);
+        FunctionCounter.builder("dscatalog.mail.failed", failed, LongAdder::sum)
+                .description("Emails the SMTP server did not accept")
+                .register(registry);
+        FunctionCounter.builder("dscatalog.mail.connections.opened", opened, LongAdder::sum)
+                .description("SMTP connections opened")
+                .register(registry);
+        FunctionCounter.builder("dscatalog.mail.connections.reused", reused, LongAdder::sum)
+                .description("Emails sent over an already open SMTP connection")
+                .register(registry);
+        Gauge.builder("dscatalog.mail.connections.idle", idle, BlockingDeque::size)
+                .description("Open SMTP connections waiting in the pool")
+                .register(registry);
+    }
+
+    public long getOpenedCount() {
+        return opened.sum();
+    }
+
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    private void acquire() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection available");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport connection;
+        // Most recently used first: it is the most likely to still be alive
+        while ((connection = idle.pollFirst()) != null) {
+            if (connection.isHealthy(maxIdle)) {
+                reused.increment();
+                return connection;
+            }
+            close(connection);
+        }
+        return open();
+    }
+
+    private void sendOrClose(PooledTransport connection, MimeMessage message) throws MessagingException {
+        try {
+            connection.send(message);
+        } catch (MessagingException | RuntimeException e) {
+            close(connection);
+            failed.increment();
+            throw e;
+        }
+    }
+
+    private PooledTransport open() throws MessagingException {
+        Session session = mailSender.getSession();
+        // Same fallback as JavaMailSenderImpl when no protocol is configured
+        String protocol = mailSender.getProtocol() != null
+                ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol");
+        Transport transport = session.getTransport(protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        opened.increment();
+        return new PooledTransport(transport);
+    }
+
+    private void release(PooledTransport connection) {
+        if (connection.messages >= maxMessagesPerConnection) {
+            close(connection);
+        } else {
+            idle.offerFirst(connection);
+        }
+    }
+
+    private static void close(PooledTransport connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close SMTP connection", e);
+        }
+    }
+
+    private static class PooledTransport {
+
+        private final Transport transport;
+        private int messages;
+        private Instant lastUsed = Instant.now();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            Address[] recipients = message.getAllRecipients();
+            transport.sendMessage(message, recipients == null ? new Address[0] : recipients);
+            messages++;
+            lastUsed = Instant.now();
+        }
+
+        Duration idleFor() {
+            return Duration.between(lastUsed, Instant.now());
+        }
+
+        boolean isHealthy(Duration maxIdle) {
+            Duration idleFor = idleFor();
+            if (idleFor.compareTo(maxIdle) > 0) {
+                return false;
+            }
+            // isConnected() sends a NOOP, so only ask when the server had time to drop us
+            return idleFor.compareTo(VALIDATE_AFTER) < 0 || transport.isConnected();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.devsuperior.dscatalog.services.search;
+
+import java.util.Arrays;
+
+/**
+ * Ascending document numbers of one trigram, kept in a plain {@code int[]}. Document numbers are
+ * handed out in increasing order, so adding one is an append. Not thread-safe.
+ */
+final class IntPostings {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] == doc) {
+            return;
+        }
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size + (size >> 1) + 1);
+        }
+        docs[size++] = doc;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int position) {
+        return docs[position];
+    }
+
+    /**
+     * Keeps the entries of {@code candidates} that also appear here, in order.
+     */
+    int[] retain(int[] candidates) {
+        int[] result = new int[Math.min(candidates.length, size)];
+        int count = 0;
+        int position = 0;
+        for (int candidate : candidates) {
+            while (position < size && docs[position] < candidate) {
+                position++;
+            }
+            if (position == size) {
+                break;
+            }
+            if (docs[position] == candidate) {
+                result[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+}
@@ -0,0 +1,140 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.CatalogDataGeneratedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the total number of matches of a catalog search, keyed by the category filter and the
+ * lower-cased name, so paging through results does not repeat the count query. Once an entry is
+ * older than the refresh interval the next read still gets it while the count query reruns in the
+ * background.
+ *
+ * <p>Every product change bumps a generation. Counts carry the generation read before their query
+ * started, so a count that raced a change is discarded on read instead of served until it expires.
+ */
+@Component
+public class ProductCountCache implements MeterBinder {
+
+    private final LoadingCache<CountKey, Count> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductCountCache(
+            ProductRepository productRepository,
+            @Value("${dscatalog.search.count-cache.ttl-seconds}") Long ttlSeconds,
+            @Value("${dscatalog.search.count-cache.refresh-seconds}") Long refreshSeconds,
+            @Value("${dscatalog.search.count-cache.maximum-size}") Long maximumSize
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(key -> {
+                    long current = generation.get();
+                    return new Count(productRepository.countProducts(key.categoryIds(), key.name()), current);
+                });
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public long count(List<Long> categoryIds, String name, Pageable pageable, int pageElements, long generation) {
+        // A short, non-empty page (or a short first page) ends the result set: the total is exact
+        boolean lastPage = pageable.isUnpaged()
+                || pageElements < pageable.getPageSize() && (pageElements > 0 || pageable.getOffset() == 0);
+        if (lastPage) {
+            long total = (pageable.isPaged() ? pageable.getOffset() : 0) + pageElements;
+            put(categoryIds, name, total, generation);
+            return total;
+        }
+        return get(categoryIds, name);
+    }
+
+    public long get(List<Long> categoryIds, String name) {
+        CountKey key = CountKey.of(categoryIds, name);
+        Count count = cache.get(key);
+        if (count.generation() != generation.get()) {
+            // Counted before the latest product change was committed
+            cache.asMap().remove(key, count);
+            count = cache.get(key);
+        }
+        return count.total();
+    }
+
+    /**
+     * Returns the cached total, or {@code null} when there is none that is still current.
+     */
+    public Long getIfPresent(List<Long> categoryIds, String name) {
+        Count count = cache.getIfPresent(CountKey.of(categoryIds, name));
+        return count == null || count.generation() != generation.get() ? null : count.total();
+    }
+
+    public void put(List<Long> categoryIds, String name, long total, long generation) {
+        if (generation == this.generation.get()) {
+            cache.put(CountKey.of(categoryIds, name), new Count(total, generation));
+        }
+    }
+
+    public double hitRatio() {
+        return cache.stats().hitRate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsInserted(ProductsInsertedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onCatalogDataGenerated(CatalogDataGeneratedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "productCount");
+        Gauge.builder("dscatalog.search.count.cache.hit.ratio", this, ProductCountCache::hitRatio)
+                .description("Share of catalog search counts answered without the count query")
+                .register(registry);
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private record Count(long total, long generation) {
+    }
+
+    private record CountKey(List<Long> categoryIds, String name) {
+
+        static CountKey of(List<Long> categoryIds, String name) {
+            List<Long> normalizedIds = categoryIds.stream().distinct().sorted().toList();
+            String normalizedName = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            return new CountKey(normalizedIds, normalizedName);
+        }
+    }
+}
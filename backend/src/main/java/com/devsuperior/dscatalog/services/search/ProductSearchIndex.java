@@ -0,0 +1,369 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.config.datasource.PrimaryRouting;
+import com.devsuperior.dscatalog.projections.ProductIndexProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.CatalogDataGeneratedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over accent-folded product names, used instead of the
+ * {@code LIKE '%name%'} scan when {@code dscatalog.search.index.enabled} is set.
+ * <p>
+ * Each product gets a document number and every trigram of its name a list of document numbers in a
+ * primitive array, so the index holds no boxed ids. A changed product is appended under a new number
+ * and its old number left as a gap; the gaps are dropped once they outnumber the products. Queries
+ * shorter than a trigram scan the names directly.
+ * <p>
+ * Name order is the database's own: a rebuild reads the products sorted by name and id and keeps each
+ * one's position, since the database collation cannot be reproduced in Java. Products changed since
+ * the last rebuild have no position yet, so until the periodic reorder runs, name-sorted searches go
+ * to SQL.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int GRAM_SIZE = 3;
+    private static final int MIN_GAPS_TO_COMPACT = 1024;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Set<String> SORTABLE = Set.of("name", "id");
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+
+    private Segment segment = new Segment(0);
+    // Changes committed while a rebuild reads the table, replayed onto the new segment before the swap
+    private List<ProductChangedEvent> pending;
+
+    @Value("${dscatalog.search.index.enabled}")
+    private boolean enabled;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The index only keeps names and ids; pages sorted by any other column have to come from SQL.
+     */
+    public boolean supports(Sort sort) {
+        if (!sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()))) {
+            return false;
+        }
+        return sort.getOrderFor("name") == null || !hasUnrankedProducts();
+    }
+
+    @EventListener({ApplicationReadyEvent.class, CatalogDataGeneratedEvent.class})
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        rebuildLock.lock();
+        try {
+            setPending(new ArrayList<>());
+            Segment next;
+            try {
+                // A replica may still miss a change whose event was already applied to the old segment
+                next = PrimaryRouting.call(() -> load(productRepository.searchProductsForIndex()));
+            } catch (RuntimeException e) {
+                setPending(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                pending.forEach(next::apply);
+                segment = next;
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Product search index built with {} products and {} grams", next.live(), next.postings.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${dscatalog.search.index.reorder-interval-ms}",
+            fixedDelayString = "${dscatalog.search.index.reorder-interval-ms}"
+    )
+    public void reorder() {
+        if (enabled && hasUnrankedProducts()) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        apply(List.of(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsInserted(ProductsInsertedEvent event) {
+        apply(event.products());
+    }
+
+    public Page<Long> search(List<Long> categoryIds, String name, Pageable pageable) {
+        String query = fold(name);
+        List<IndexedProduct> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Segment current = segment;
+            if (query.length() < GRAM_SIZE) {
+                for (IndexedProduct product : current.docs) {
+                    if (product != null && product.matches(categoryIds, query)) {
+                        matches.add(product);
+                    }
+                }
+            } else {
+                for (int doc : current.candidates(query)) {
+                    IndexedProduct product = current.docs.get(doc);
+                    if (product != null && product.matches(categoryIds, query)) {
+                        matches.add(product);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator(pageable.getSort()));
+
+        List<Long> ids = new ArrayList<>();
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            matches.subList(from, to).forEach(product -> ids.add(product.id()));
+        } else {
+            matches.forEach(product -> ids.add(product.id()));
+        }
+        return new PageImpl<>(ids, pageable, matches.size());
+    }
+
+    private void apply(List<ProductChangedEvent> events) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            events.forEach(segment::apply);
+            if (pending != null) {
+                pending.addAll(events);
+            }
+            if (segment.gaps() > MIN_GAPS_TO_COMPACT && segment.gaps() > segment.live()) {
+                segment = segment.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean hasUnrankedProducts() {
+        lock.readLock().lock();
+        try {
+            return segment.unranked > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setPending(List<ProductChangedEvent> events) {
+        lock.writeLock().lock();
+        try {
+            pending = events;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Segment load(List<ProductIndexProjection> rows) {
+        Segment result = new Segment(rows.size());
+        // Rows come ordered by name and id, one per category
+        int start = 0;
+        int rank = 0;
+        while (start < rows.size()) {
+            ProductIndexProjection first = rows.get(start);
+            int end = start;
+            while (end < rows.size() && rows.get(end).getId().equals(first.getId())) {
+                end++;
+            }
+            long[] categoryIds = new long[end - start];
+            for (int i = start; i < end; i++) {
+                categoryIds[i - start] = rows.get(i).getCategoryId();
+            }
+            result.put(new IndexedProduct(first.getId(), fold(first.getName()), categoryIds, rank++));
+            start = end;
+        }
+        return result;
+    }
+
+    private static Comparator<IndexedProduct> comparator(Sort sort) {
+        Comparator<IndexedProduct> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IndexedProduct> next = switch (order.getProperty()) {
+                case "name" -> Comparator.comparingInt(IndexedProduct::rank);
+                case "id" -> Comparator.comparingLong(IndexedProduct::id);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        Comparator<IndexedProduct> byId = Comparator.comparingLong(IndexedProduct::id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return result;
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Products by document number, with a {@code null} gap where a product was changed or removed.
+     */
+    private static final class Segment {
+
+        private final List<IndexedProduct> docs;
+        private final LongIntHashMap docByProductId;
+        private final Map<String, IntPostings> postings = new HashMap<>();
+        private int gaps;
+        private int unranked;
+
+        Segment(int expectedSize) {
+            this.docs = new ArrayList<>(expectedSize);
+            this.docByProductId = new LongIntHashMap(expectedSize);
+        }
+
+        void apply(ProductChangedEvent event) {
+            remove(event.productId());
+            // Mirrors the INNER JOIN of the SQL search: products without categories never match
+            if (!event.deleted() && !event.categoryIds().isEmpty()) {
+                long[] categoryIds = event.categoryIds().stream().mapToLong(Long::longValue).toArray();
+                put(new IndexedProduct(event.productId(), fold(event.name()), categoryIds, IndexedProduct.UNRANKED));
+            }
+        }
+
+        void put(IndexedProduct product) {
+            remove(product.id());
+            int doc = docs.size();
+            docs.add(product);
+            docByProductId.put(product.id(), doc);
+            if (product.rank() == IndexedProduct.UNRANKED) {
+                unranked++;
+            }
+            for (String gram : grams(product.foldedName())) {
+                postings.computeIfAbsent(gram, key -> new IntPostings()).add(doc);
+            }
+        }
+
+        void remove(long productId) {
+            int doc = docByProductId.remove(productId);
+            if (doc != LongIntHashMap.MISSING) {
+                if (docs.set(doc, null).rank() == IndexedProduct.UNRANKED) {
+                    unranked--;
+                }
+                gaps++;
+            }
+        }
+
+        int[] candidates(String query) {
+            List<IntPostings> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                IntPostings posting = postings.get(gram);
+                if (posting == null) {
+                    return new int[0];
+                }
+                lists.add(posting);
+            }
+            // Rarest trigram first keeps every intersection step small
+            lists.sort(Comparator.comparingInt(IntPostings::size));
+            int[] result = lists.getFirst().toArray();
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = lists.get(i).retain(result);
+            }
+            return result;
+        }
+
+        int live() {
+            return docs.size() - gaps;
+        }
+
+        int gaps() {
+            return gaps;
+        }
+
+        Segment compact() {
+            Segment result = new Segment(live());
+            for (IndexedProduct product : docs) {
+                if (product != null) {
+                    result.put(product);
+                }
+            }
+            return result;
+        }
+    }
+
+    private record IndexedProduct(long id, String foldedName, long[] categoryIds, int rank) {
+
+        static final int UNRANKED = Integer.MAX_VALUE;
+
+        boolean matches(List<Long> categories, String query) {
+            if (!categories.isEmpty() && !inAnyCategory(categories)) {
+                return false;
+            }
+            return foldedName.contains(query);
+        }
+
+        private boolean inAnyCategory(List<Long> categories) {
+            for (long categoryId : categoryIds) {
+                if (categories.contains(categoryId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.devsuperior.dscatalog.util;
+
+import com.devsuperior.dscatalog.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page ordered by {@code (name, id)}, serialized as an opaque
+ * URL-safe token. An empty token points before the first row.
+ */
+public record KeysetCursor(String name, Long id) {
+
+    public static final KeysetCursor FIRST = new KeysetCursor("", 0L);
+
+    public String encode() {
+        String raw = id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsuperior.dscatalog.util;
+
+import com.devsuperior.dscatalog.projections.LastModifiedProjection;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP validators for a set of rows, derived from their count and latest modification time so
+ * conditional requests can be answered without building the response body. A negative
+ * lastModified leaves the Last-Modified header out.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    public static ResourceVersion of(LastModifiedProjection... parts) {
+        long lastModified = Arrays.stream(parts)
+                .map(LastModifiedProjection::getLastModified)
+                .filter(Objects::nonNull)
+                .mapToLong(ResourceVersion::toMillis)
+                .max()
+                .orElse(-1);
+        return new ResourceVersion(etag(parts), lastModified);
+    }
+
+    /**
+     * Validators for a listing. A delete does not move the latest modification time, so a listing
+     * is only validated by its ETag and never answers If-Modified-Since alone.
+     */
+    public static ResourceVersion ofCollection(LastModifiedProjection... parts) {
+        return new ResourceVersion(etag(parts), -1);
+    }
+
+    private static String etag(LastModifiedProjection... parts) {
+        // Deletes lower the count, inserts and updates move the timestamp
+        String tag = Arrays.stream(parts)
+                .map(part -> part.getTotal() + "-" + toMillis(part.getLastModified()))
+                .collect(Collectors.joining("."));
+        return "W/\"" + tag + "\"";
+    }
+
+    private static long toMillis(OffsetDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toInstant().toEpochMilli();
+    }
+}
@@ -5,6 +5,7 @@ import com.devsuperior.dscatalog.projections.IdProjection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class Utils {
@@ -20,9 +21,51 @@ public class Utils {
 
         List<IdProjection<ID>> result = new ArrayList<>();
         for (IdProjection<ID> obj : ordered) {
-            result.add(map.get(obj.getId()));
+            // Rows deleted between the id query and the entity query are left out
+            IdProjection<ID> match = map.get(obj.getId());
+            if (match != null) {
+                result.add(match);
+            }
         }
 
         return result;
     }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip, honouring q-values: an explicit
+     * {@code gzip} entry wins over {@code *}, and a q-value of 0 refuses the coding.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        Double accepted = gzip != null ? gzip : any;
+        return accepted != null && accepted > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
 }
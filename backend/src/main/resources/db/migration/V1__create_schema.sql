@@ -0,0 +1,110 @@
+-- Tables as mapped by the entities. IF NOT EXISTS lets databases created by Hibernate before the
+-- migrations existed pick up only the tables and columns they are missing.
+
+CREATE TABLE IF NOT EXISTS tb_category (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_product (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    description TEXT,
+    price FLOAT(53),
+    img_url VARCHAR(255),
+    date TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE tb_product ADD COLUMN IF NOT EXISTS created_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE tb_product ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE;
+
+CREATE TABLE IF NOT EXISTS tb_product_category (
+    category_id BIGINT NOT NULL REFERENCES tb_category,
+    product_id BIGINT NOT NULL REFERENCES tb_product,
+    PRIMARY KEY (category_id, product_id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_role (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    authority VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_user (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email VARCHAR(255) UNIQUE,
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    password VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_user_role (
+    role_id BIGINT NOT NULL REFERENCES tb_role,
+    user_id BIGINT NOT NULL REFERENCES tb_user,
+    PRIMARY KEY (role_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_password_recover (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    token VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expiration TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    used_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    sent_at TIMESTAMP WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_oauth2_authorization (
+    id VARCHAR(100) NOT NULL,
+    registered_client_id VARCHAR(100) NOT NULL,
+    principal_name VARCHAR(200) NOT NULL,
+    authorization_grant_type VARCHAR(100) NOT NULL,
+    authorized_scopes VARCHAR(1000),
+    access_token_value TEXT,
+    access_token_hash VARCHAR(64),
+    access_token_issued_at TIMESTAMP(6) WITH TIME ZONE,
+    access_token_expires_at TIMESTAMP(6) WITH TIME ZONE,
+    access_token_scopes VARCHAR(1000),
+    access_token_claims TEXT,
+    access_token_invalidated BOOLEAN NOT NULL,
+    refresh_token_value TEXT,
+    refresh_token_hash VARCHAR(64),
+    refresh_token_issued_at TIMESTAMP(6) WITH TIME ZONE,
+    refresh_token_expires_at TIMESTAMP(6) WITH TIME ZONE,
+    refresh_token_invalidated BOOLEAN NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_oauth2_authorization_access_token ON tb_oauth2_authorization (access_token_hash);
+CREATE INDEX IF NOT EXISTS ix_oauth2_authorization_refresh_token ON tb_oauth2_authorization (refresh_token_hash);
+CREATE INDEX IF NOT EXISTS ix_oauth2_authorization_expires_at ON tb_oauth2_authorization (expires_at);
+
+CREATE TABLE IF NOT EXISTS tb_signing_key (
+    id VARCHAR(100) NOT NULL,
+    public_key TEXT NOT NULL,
+    private_key TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    activates_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,27 @@
+-- Indexes for the catalog search, product/role fetches, password recovery and the email outbox.
+-- The join table primary keys lead with category_id and role_id, which already serves filtering by
+-- category; the reverse lookups from a product or a user need their own index.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ProductRepository.searchProducts / countProducts: LOWER(name) LIKE '%term%' cannot use a b-tree
+CREATE INDEX IF NOT EXISTS ix_product_name_trgm ON tb_product USING gin (LOWER(name) gin_trgm_ops);
+
+-- Sorting by name and ProductRepository.searchProductsAfter keyset pages
+CREATE INDEX IF NOT EXISTS ix_product_name_id ON tb_product (name, id);
+
+-- Categories of a page of products
+CREATE INDEX IF NOT EXISTS ix_product_category_product ON tb_product_category (product_id, category_id);
+
+-- UserRepository.searchUserAndRolesByEmail
+CREATE INDEX IF NOT EXISTS ix_user_role_user ON tb_user_role (user_id, role_id);
+
+-- PasswordRecoverRepository.searchValidTokens / searchValidTokensFromEmail only look at unused tokens
+CREATE INDEX IF NOT EXISTS ix_password_recover_token ON tb_password_recover (token, expiration)
+    WHERE used_at IS NULL;
+CREATE INDEX IF NOT EXISTS ix_password_recover_email ON tb_password_recover (email, expiration)
+    WHERE used_at IS NULL;
+
+-- EmailOutboxRepository.searchDueIds skips the sent and failed history
+CREATE INDEX IF NOT EXISTS ix_email_outbox_next_attempt ON tb_email_outbox (next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
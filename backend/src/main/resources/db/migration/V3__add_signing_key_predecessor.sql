@@ -0,0 +1,6 @@
+-- Each key records the key it replaces. The unique constraint lets only one node publish the
+-- successor of a given key, or the first key of an empty table.
+ALTER TABLE tb_signing_key ADD COLUMN IF NOT EXISTS predecessor_id VARCHAR(100);
+UPDATE tb_signing_key SET predecessor_id = 'migrated:' || id WHERE predecessor_id IS NULL;
+ALTER TABLE tb_signing_key ALTER COLUMN predecessor_id SET NOT NULL;
+ALTER TABLE tb_signing_key ADD CONSTRAINT uk_signing_key_predecessor UNIQUE (predecessor_id);
@@ -0,0 +1,95 @@
+package com.devsuperior.dscatalog.config;
+
+import com.devsuperior.dscatalog.repositories.PasswordRecoverRepository;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@Tag("Integration")
+public class MetricsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Autowired
+    private PasswordRecoverRepository passwordRecoverRepository;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private String scrape() throws Exception {
+        mockMvc.perform(get("/categories")).andExpect(status().isOk());
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+        mockMvc.perform(get("/products/{id}", 1L)).andExpect(status().isOk());
+        mockMvc.perform(get("/products/{id}", 1L)).andExpect(status().isOk());
+        tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+        passwordRecoverRepository.count();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    @Test
+    @DisplayName("Should keep the actuator endpoints off the API port")
+    public void prometheusShouldNotBeServedOnApiPort() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + serverPort + "/actuator/prometheus", String.class);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should time repository methods tagged by repository and method")
+    public void prometheusShouldExposeRepositoryTimers() throws Exception {
+        String metrics = scrape();
+
+        Assertions.assertTrue(metrics.matches("(?s).*spring_data_repository_invocations_seconds_count\\{[^}]*method=\"searchAll\"[^}]*repository=\"ProductRepository\".*"));
+        Assertions.assertTrue(metrics.matches("(?s).*spring_data_repository_invocations_seconds_count\\{[^}]*repository=\"CategoryRepository\".*"));
+        Assertions.assertTrue(metrics.matches("(?s).*spring_data_repository_invocations_seconds_count\\{[^}]*method=\"searchUserAndRolesByEmail\"[^}]*repository=\"UserRepository\".*"));
+        Assertions.assertTrue(metrics.matches("(?s).*spring_data_repository_invocations_seconds_count\\{[^}]*method=\"count\"[^}]*repository=\"PasswordRecoverRepository\".*"));
+    }
+
+    @Test
+    @DisplayName("Should export Hibernate statistics, pool usage and per-endpoint latency histograms")
+    public void prometheusShouldExposeHibernatePoolAndHttpMetrics() throws Exception {
+        String metrics = scrape();
+
+        Assertions.assertTrue(metrics.contains("hibernate_query_executions_total"));
+        Assertions.assertTrue(metrics.contains("hibernate_entities_loads_total"));
+        Assertions.assertTrue(metrics.contains("hibernate_second_level_cache_requests_total"));
+        Assertions.assertTrue(metrics.contains("hikaricp_connections_active"));
+        Assertions.assertTrue(metrics.contains("hikaricp_connections_acquire_seconds_count"));
+        Assertions.assertTrue(metrics.matches("(?s).*http_server_requests_seconds_bucket\\{[^}]*uri=\"/products/\\{id}\".*"));
+        Assertions.assertTrue(metrics.contains("dscatalog_security_password_hash_duration_seconds"));
+    }
+}
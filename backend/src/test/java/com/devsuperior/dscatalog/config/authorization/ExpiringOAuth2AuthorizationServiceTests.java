@@ -0,0 +1,98 @@
+package com.devsuperior.dscatalog.config.authorization;
+
+import org.junit.jupiter.api.*;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+@Tag("Unit")
+public class ExpiringOAuth2AuthorizationServiceTests {
+
+    private static final RegisteredClient CLIENT = RegisteredClient.withId("client")
+            .clientId("myclientid")
+            .authorizationGrantType(new AuthorizationGrantType("password"))
+            .build();
+
+    private ExpiringOAuth2AuthorizationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ExpiringOAuth2AuthorizationService(10_000L, Duration.ofHours(1));
+    }
+
+    private static OAuth2Authorization authorization(String id, Instant expiresAt) {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                "token-" + id, expiresAt.minusSeconds(60), expiresAt, Set.of("read"));
+        return OAuth2Authorization.withRegisteredClient(CLIENT)
+                .id(id)
+                .principalName("myclientid")
+                .authorizationGrantType(new AuthorizationGrantType("password"))
+                .accessToken(accessToken)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should find a saved authorization by id and by access token")
+    public void findShouldReturnSavedAuthorization() {
+        OAuth2Authorization authorization = authorization("1", Instant.now().plusSeconds(60));
+
+        service.save(authorization);
+
+        Assertions.assertSame(authorization, service.findById("1"));
+        Assertions.assertSame(authorization, service.findByToken("token-1", OAuth2TokenType.ACCESS_TOKEN));
+        Assertions.assertSame(authorization, service.findByToken("token-1", null));
+        Assertions.assertNull(service.findByToken("token-1", OAuth2TokenType.REFRESH_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should forget an authorization once its access token has expired")
+    public void findShouldReturnNullWhenTokenExpired() {
+        service.save(authorization("1", Instant.now().minusSeconds(1)));
+
+        Assertions.assertNull(service.findById("1"));
+        Assertions.assertNull(service.findByToken("token-1", OAuth2TokenType.ACCESS_TOKEN));
+        Assertions.assertEquals(0, service.size());
+    }
+
+    @Test
+    @DisplayName("Should forget a removed authorization and its tokens")
+    public void removeShouldDropAuthorizationAndTokens() {
+        OAuth2Authorization authorization = authorization("1", Instant.now().plusSeconds(60));
+        service.save(authorization);
+
+        service.remove(authorization);
+
+        Assertions.assertNull(service.findById("1"));
+        Assertions.assertNull(service.findByToken("token-1", null));
+    }
+
+    @Test
+    @DisplayName("Should keep memory flat across a million logins")
+    public void saveShouldStayBoundedAfterMillionLogins() {
+        Runtime runtime = Runtime.getRuntime();
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(1));
+        long usedAfterWarmUp = 0;
+
+        for (int i = 0; i < 1_000_000; i++) {
+            service.save(authorization(Integer.toString(i), expiresAt));
+            if (i == 100_000) {
+                Assertions.assertTrue(service.size() <= 10_000);
+                System.gc();
+                usedAfterWarmUp = runtime.totalMemory() - runtime.freeMemory();
+            }
+        }
+
+        Assertions.assertTrue(service.size() <= 10_000);
+        Assertions.assertNotNull(service.findById("999999"));
+        System.gc();
+        long usedAtEnd = runtime.totalMemory() - runtime.freeMemory();
+        Assertions.assertTrue(usedAtEnd - usedAfterWarmUp < 64L * 1024 * 1024,
+                "Heap grew by " + (usedAtEnd - usedAfterWarmUp) + " bytes");
+    }
+}
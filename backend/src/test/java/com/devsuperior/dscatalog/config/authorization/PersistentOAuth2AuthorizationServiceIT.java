@@ -0,0 +1,116 @@
+package com.devsuperior.dscatalog.config.authorization;
+
+import com.devsuperior.dscatalog.repositories.StoredAuthorizationRepository;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.server.authorization.OAuth2Authorization;
+import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+
+@SpringBootTest(properties = {
+        "dscatalog.security.authorization-store.type=database",
+        "dscatalog.security.authorization-store.purge-batch-size=2",
+        "dscatalog.security.authorization-store.purge-interval-ms=3600000",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Tag("Integration")
+public class PersistentOAuth2AuthorizationServiceIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Autowired
+    private PersistentOAuth2AuthorizationService service;
+
+    @Autowired
+    private StoredAuthorizationRepository repository;
+
+    @Autowired
+    private RegisteredClientRepository registeredClientRepository;
+
+    private RegisteredClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = registeredClientRepository.findByClientId("myclientid");
+        repository.deleteAll();
+    }
+
+    private OAuth2Authorization authorization(String id, Instant expiresAt) {
+        OAuth2AccessToken accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER,
+                "token-" + id, expiresAt.minusSeconds(60), expiresAt, Set.of("read"));
+        return OAuth2Authorization.withRegisteredClient(client)
+                .id(id)
+                .principalName("myclientid")
+                .authorizationGrantType(new AuthorizationGrantType("password"))
+                .accessToken(accessToken)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should persist the authorization of a login and find it by access token")
+    public void loginShouldStoreAuthorizationInDatabase() throws Exception {
+        String accessToken = tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+
+        OAuth2Authorization result = service.findByToken(accessToken, OAuth2TokenType.ACCESS_TOKEN);
+
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(1, repository.count());
+        Assertions.assertEquals(accessToken, result.getAccessToken().getToken().getTokenValue());
+        Map<String, Object> claims = result.getAccessToken().getClaims();
+        Assertions.assertNotNull(claims);
+        Assertions.assertEquals("maria@gmail.com", claims.get("username"));
+        Assertions.assertInstanceOf(Instant.class, claims.get("exp"));
+        Assertions.assertEquals(result.getId(), service.findById(result.getId()).getId());
+    }
+
+    @Test
+    @DisplayName("Should not return authorizations whose tokens have expired")
+    public void findShouldIgnoreExpiredAuthorizations() {
+        service.save(authorization("expired", Instant.now().minusSeconds(1)));
+
+        Assertions.assertNull(service.findById("expired"));
+        Assertions.assertNull(service.findByToken("token-expired", null));
+    }
+
+    @Test
+    @DisplayName("Should purge expired authorizations in batches and keep live ones")
+    public void purgeExpiredShouldDeleteOnlyExpiredRows() {
+        for (int i = 0; i < 5; i++) {
+            service.save(authorization("expired-" + i, Instant.now().minusSeconds(60)));
+        }
+        service.save(authorization("live", Instant.now().plusSeconds(600)));
+
+        int purged = service.purgeExpired();
+
+        Assertions.assertEquals(5, purged);
+        Assertions.assertEquals(1, repository.count());
+        Assertions.assertNotNull(service.findByToken("token-live", OAuth2TokenType.ACCESS_TOKEN));
+    }
+
+    @Test
+    @DisplayName("Should delete a removed authorization")
+    public void removeShouldDeleteRow() {
+        OAuth2Authorization authorization = authorization("removed", Instant.now().plusSeconds(600));
+        service.save(authorization);
+
+        service.remove(authorization);
+
+        Assertions.assertNull(service.findById("removed"));
+    }
+}
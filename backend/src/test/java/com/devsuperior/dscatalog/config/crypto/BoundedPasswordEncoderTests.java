@@ -0,0 +1,75 @@
+package com.devsuperior.dscatalog.config.crypto;
+
+import com.devsuperior.dscatalog.services.exceptions.PasswordHashingUnavailableException;
+import org.junit.jupiter.api.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Tag("Unit")
+public class BoundedPasswordEncoderTests {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should encode and match passwords with the wrapped encoder")
+    public void matchesShouldDelegateToWrappedEncoder() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, Duration.ofSeconds(1));
+
+        String hash = encoder.encode("123456");
+
+        Assertions.assertTrue(encoder.matches("123456", hash));
+        Assertions.assertFalse(encoder.matches("654321", hash));
+    }
+
+    @Test
+    @DisplayName("Should refuse password checks at once when every thread and queue slot is taken")
+    public void matchesShouldThrowWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), 1, 1, Duration.ofMillis(1500));
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        for (int i = 0; i < 500 && encoder.getQueuedCount() == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        PasswordHashingUnavailableException exception = Assertions.assertThrows(
+                PasswordHashingUnavailableException.class, () -> encoder.matches("c", "c"));
+        Assertions.assertEquals(2L, exception.getRetryAfterSeconds());
+
+        release.countDown();
+        Assertions.assertTrue(running.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private record BlockingPasswordEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
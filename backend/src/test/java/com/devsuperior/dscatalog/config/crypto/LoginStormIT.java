@@ -0,0 +1,86 @@
+package com.devsuperior.dscatalog.config.crypto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "dscatalog.security.password-hashing.threads=1",
+        "dscatalog.security.password-hashing.queue-capacity=1",
+        "dscatalog.security.password-hashing.retry-after=2s",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Tag("Integration")
+public class LoginStormIT {
+
+    private static final int LOGINS = 24;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${dscatalog.security.client-id}")
+    private String clientId;
+
+    @Value("${dscatalog.security.client-secret}")
+    private String clientSecret;
+
+    private MockHttpServletResponse login() throws Exception {
+        return mockMvc.perform(post("/oauth2/token")
+                        .param("grant_type", "password")
+                        .param("username", "maria@gmail.com")
+                        .param("password", "123456")
+                        .with(httpBasic(clientId, clientSecret)))
+                .andReturn().getResponse();
+    }
+
+    @Test
+    @DisplayName("Should refuse excess logins with 503 and Retry-After while the catalog keeps answering")
+    public void tokenShouldReturnServiceUnavailableWhenHashingIsSaturated() throws Exception {
+        List<Future<MockHttpServletResponse>> logins = new ArrayList<>();
+        List<Integer> catalogStatuses = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(LOGINS)) {
+            for (int i = 0; i < LOGINS; i++) {
+                logins.add(executor.submit(this::login));
+            }
+            for (int i = 0; i < 10; i++) {
+                catalogStatuses.add(mockMvc.perform(get("/products")).andReturn().getResponse().getStatus());
+            }
+
+            int accepted = 0;
+            int refused = 0;
+            for (Future<MockHttpServletResponse> login : logins) {
+                MockHttpServletResponse response = login.get();
+                if (response.getStatus() == 200) {
+                    accepted++;
+                } else {
+                    Assertions.assertEquals(503, response.getStatus());
+                    Assertions.assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+                    Assertions.assertTrue(response.getContentAsString().contains("temporarily_unavailable"));
+                    refused++;
+                }
+            }
+
+            Assertions.assertTrue(accepted > 0);
+            Assertions.assertTrue(refused > 0);
+        }
+        Assertions.assertTrue(catalogStatuses.stream().allMatch(status -> status == 200));
+        Assertions.assertEquals(200, login().getStatus());
+    }
+}
@@ -0,0 +1,75 @@
+package com.devsuperior.dscatalog.config.customgrant;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.json.JacksonJsonParser;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = "dscatalog.email.outbox.poll-interval-ms=3600000")
+@AutoConfigureMockMvc
+@Tag("Integration")
+public class CustomPasswordAuthenticationProviderIT {
+
+    private static final int LOGINS = 40;
+    private static final List<String> USERNAMES = List.of("maria@gmail.com", "alex@gmail.com");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${dscatalog.security.client-id}")
+    private String clientId;
+
+    @Value("${dscatalog.security.client-secret}")
+    private String clientSecret;
+
+    private MockHttpServletResponse login(String username) throws Exception {
+        return mockMvc.perform(post("/oauth2/token")
+                        .param("grant_type", "password")
+                        .param("username", username)
+                        .param("password", "123456")
+                        .with(httpBasic(clientId, clientSecret)))
+                .andReturn().getResponse();
+    }
+
+    @Test
+    @DisplayName("Should issue each concurrent login a token for its own user")
+    public void tokenShouldCarryOwnUserWhenLoginsAreConcurrent() throws Exception {
+        List<Future<MockHttpServletResponse>> logins = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < LOGINS; i++) {
+                String username = USERNAMES.get(i % USERNAMES.size());
+                logins.add(executor.submit(() -> login(username)));
+            }
+
+            for (int i = 0; i < LOGINS; i++) {
+                MockHttpServletResponse response = logins.get(i).get();
+                Assertions.assertEquals(200, response.getStatus(), response.getContentAsString());
+                Assertions.assertEquals(USERNAMES.get(i % USERNAMES.size()), claims(response).get("username"));
+            }
+        }
+    }
+
+    private static Map<String, Object> claims(MockHttpServletResponse response) throws Exception {
+        JacksonJsonParser parser = new JacksonJsonParser();
+        String accessToken = parser.parseMap(response.getContentAsString()).get("access_token").toString();
+        String payload = new String(Base64.getUrlDecoder().decode(accessToken.split("\\.")[1]), StandardCharsets.UTF_8);
+        return parser.parseMap(payload);
+    }
+}
@@ -0,0 +1,145 @@
+package com.devsuperior.dscatalog.config.datasource;
+
+import org.junit.jupiter.api.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+@Tag("Unit")
+public class ReadReplicaRoutingDataSourceTests {
+
+    private String databasePrefix;
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        databasePrefix = UUID.randomUUID().toString();
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    public void getConnectionShouldRouteByTransactionReadOnlyFlag() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO);
+
+        Assertions.assertEquals("replica", origin(routing, true));
+        Assertions.assertEquals("primary", origin(routing, false));
+        Assertions.assertEquals(1, routing.getReplicaConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica is down and return to it once healthy")
+    public void getConnectionShouldFallBackToPrimaryWhenReplicaIsDown() {
+        String missingReplica = "jdbc:h2:mem:" + databasePrefix + "-late;IFEXISTS=TRUE;DB_CLOSE_DELAY=-1";
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                primary, List.of(new DriverManagerDataSource(missingReplica, "sa", "")), Duration.ZERO);
+
+        Assertions.assertEquals("primary", origin(routing, true));
+        Assertions.assertEquals(0, routing.getHealthyReplicaCount());
+
+        database("late");
+        routing.checkReplicas();
+
+        Assertions.assertEquals(1, routing.getHealthyReplicaCount());
+        Assertions.assertEquals("late", origin(routing, true));
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a user on the primary right after that user wrote")
+    public void getConnectionShouldReadYourWritesWithinWindow() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("maria@gmail.com", null, List.of()));
+
+        Assertions.assertEquals("replica", origin(routing, true));
+        Assertions.assertEquals("primary", origin(routing, false));
+        Assertions.assertEquals("primary", origin(routing, true));
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alex@gmail.com", null, List.of()));
+        Assertions.assertEquals("replica", origin(routing, true));
+    }
+
+    @Test
+    @DisplayName("Should key the read-your-writes window by the username claim of an access token")
+    public void getConnectionShouldReadYourWritesPerResourceOwner() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1));
+        SecurityContextHolder.getContext().setAuthentication(accessToken("maria@gmail.com"));
+
+        Assertions.assertEquals("primary", origin(routing, false));
+        Assertions.assertEquals("primary", origin(routing, true));
+
+        // Same OAuth client, different resource owner
+        SecurityContextHolder.getContext().setAuthentication(accessToken("alex@gmail.com"));
+        Assertions.assertEquals("replica", origin(routing, true));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the primary while primary routing is forced")
+    public void getConnectionShouldUsePrimaryWhenForced() {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO);
+
+        Assertions.assertEquals("primary", PrimaryRouting.call(() -> origin(routing, true)));
+        Assertions.assertEquals("replica", origin(routing, true));
+    }
+
+    @Test
+    @DisplayName("Should hand out connections with explicit credentials from the primary")
+    public void getConnectionWithCredentialsShouldUsePrimary() throws SQLException {
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO);
+
+        try (Connection connection = routing.getConnection("sa", "")) {
+            Assertions.assertEquals("primary", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM tb_origin", String.class));
+        }
+        Assertions.assertEquals(1, routing.getPrimaryConnectionCount());
+        Assertions.assertEquals(0, routing.getReplicaConnectionCount());
+    }
+
+    private static JwtAuthenticationToken accessToken(String username) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("myclientid")
+                .claim("username", username)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+
+    private String origin(ReadReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM tb_origin", String.class));
+    }
+
+    private DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databasePrefix + "-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tb_origin (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO tb_origin (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
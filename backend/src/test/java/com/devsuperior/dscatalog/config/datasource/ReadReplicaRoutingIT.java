@@ -0,0 +1,68 @@
+package com.devsuperior.dscatalog.config.datasource;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryRequest;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+// The test database doubles as its own replica, reached through a separate pool
+@SpringBootTest(properties = {
+        "dscatalog.datasource.replicas.urls=jdbc:h2:mem:testdb",
+        "dscatalog.datasource.replicas.read-your-writes-window=0s",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Tag("Integration")
+public class ReadReplicaRoutingIT {
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should serve catalog searches from the replica pool")
+    public void readOnlyServiceMethodsShouldUseReplica() {
+        long replicaBefore = routingDataSource.getReplicaConnectionCount();
+        long primaryBefore = routingDataSource.getPrimaryConnectionCount();
+
+        productService.findAllProductProjection("0", "", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(replicaBefore + 1, routingDataSource.getReplicaConnectionCount());
+        Assertions.assertEquals(primaryBefore, routingDataSource.getPrimaryConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary pool")
+    public void writeServiceMethodsShouldUsePrimary() {
+        long replicaBefore = routingDataSource.getReplicaConnectionCount();
+        long primaryBefore = routingDataSource.getPrimaryConnectionCount();
+        String originalName = categoryService.findById(1L).getName();
+
+        try {
+            categoryService.update(new CategoryRequest("Renamed"), 1L);
+        } finally {
+            categoryService.update(new CategoryRequest(originalName), 1L);
+        }
+
+        Assertions.assertTrue(routingDataSource.getPrimaryConnectionCount() >= primaryBefore + 2);
+        Assertions.assertTrue(routingDataSource.getReplicaConnectionCount() <= replicaBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Should report the usage of the primary and replica pools")
+    public void poolsShouldBeInstrumented() {
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-1").gauge());
+    }
+}
@@ -0,0 +1,55 @@
+package com.devsuperior.dscatalog.config.jwk;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+@Tag("Unit")
+public class KeystoreSigningKeySourceTests {
+
+    @TempDir
+    static Path directory;
+
+    private static Path keystore;
+
+    @BeforeAll
+    static void createKeystore() throws Exception {
+        keystore = directory.resolve("signing.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "dscatalog", "-keyalg", "RSA", "-keysize", "2048",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", "secret123", "-keypass", "secret123",
+                "-dname", "CN=dscatalog", "-validity", "1")
+                .redirectErrorStream(true)
+                .start();
+        Assertions.assertEquals(0, keytool.waitFor());
+    }
+
+    @Test
+    @DisplayName("Should load the key pair under the alias and use the alias as key id")
+    public void getShouldReturnKeystoreKey() throws Exception {
+        KeystoreSigningKeySource source = new KeystoreSigningKeySource(
+                new FileSystemResource(keystore), "secret123", "dscatalog");
+
+        List<JWK> keys = source.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+
+        Assertions.assertEquals("dscatalog", source.signingKeyId());
+        Assertions.assertEquals(1, keys.size());
+        Assertions.assertEquals("dscatalog", keys.getFirst().getKeyID());
+        Assertions.assertTrue(keys.getFirst().isPrivate());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the alias does not exist")
+    public void constructorShouldThrowWhenAliasIsMissing() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new KeystoreSigningKeySource(
+                new FileSystemResource(keystore), "secret123", "missing"));
+    }
+}
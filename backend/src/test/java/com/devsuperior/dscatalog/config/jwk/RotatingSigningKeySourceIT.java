@@ -0,0 +1,182 @@
+package com.devsuperior.dscatalog.config.jwk;
+
+import com.devsuperior.dscatalog.config.AuthorizationServerConfig;
+import com.devsuperior.dscatalog.entities.SigningKey;
+import com.devsuperior.dscatalog.repositories.SigningKeyRepository;
+import com.devsuperior.dscatalog.tests.TokenUtil;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+        "dscatalog.security.jwk.refresh-interval-ms=3600000",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Tag("Integration")
+public class RotatingSigningKeySourceIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    @Autowired
+    private RotatingSigningKeySource signingKeySource;
+
+    @Autowired
+    private SigningKeyRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JwtDecoder jwtDecoder;
+
+    @Value("${dscatalog.security.jwk.encryption-password}")
+    private String encryptionPassword;
+
+    @Value("${dscatalog.security.jwk.encryption-salt}")
+    private String encryptionSalt;
+
+    private RotatingSigningKeySource anotherNode(Duration activationDelay) {
+        return new RotatingSigningKeySource(repository, transactionTemplate,
+                Encryptors.delux(encryptionPassword, encryptionSalt),
+                Duration.ofDays(30), activationDelay, Duration.ofDays(1));
+    }
+
+    private List<String> publishedKeyIds() throws Exception {
+        String json = mockMvc.perform(get("/oauth2/jwks")).andReturn().getResponse().getContentAsString();
+        return JsonPath.read(json, "$.keys[*].kid");
+    }
+
+    private String login() throws Exception {
+        return tokenUtil.obtainAccessToken(mockMvc, "maria@gmail.com", "123456");
+    }
+
+    @Test
+    @DisplayName("Should sign tokens with the active key and publish it in the JWKS")
+    public void tokenShouldBeSignedWithActiveKey() throws Exception {
+        Jwt jwt = jwtDecoder.decode(login());
+
+        Assertions.assertEquals(signingKeySource.signingKeyId(), jwt.getHeaders().get("kid"));
+        Assertions.assertTrue(publishedKeyIds().contains(signingKeySource.signingKeyId()));
+    }
+
+    @Test
+    @DisplayName("Should reuse the stored keys on restart instead of generating new ones")
+    public void initializeShouldLoadStoredKeys() {
+        long keys = repository.count();
+
+        RotatingSigningKeySource restarted = anotherNode(Duration.ofMinutes(10));
+        restarted.initialize();
+
+        Assertions.assertEquals(keys, repository.count());
+        Assertions.assertEquals(signingKeySource.signingKeyId(), restarted.signingKeyId());
+    }
+
+    @Test
+    @DisplayName("Should publish a rotated key before it signs and keep verifying older tokens")
+    public void rotateShouldOverlapOldAndNewKeys() throws Exception {
+        String oldKeyId = signingKeySource.signingKeyId();
+        String oldToken = login();
+
+        anotherNode(Duration.ofMinutes(10)).rotate();
+        signingKeySource.reload();
+
+        // Published but not yet signing
+        Assertions.assertEquals(oldKeyId, signingKeySource.signingKeyId());
+        Assertions.assertEquals(repository.count(), publishedKeyIds().size());
+
+        RotatingSigningKeySource node = anotherNode(Duration.ZERO);
+        node.rotate();
+        signingKeySource.reload();
+
+        String newKeyId = node.signingKeyId();
+        Assertions.assertNotEquals(oldKeyId, newKeyId);
+        Assertions.assertEquals(newKeyId, signingKeySource.signingKeyId());
+        Assertions.assertTrue(publishedKeyIds().containsAll(List.of(oldKeyId, newKeyId)));
+        Assertions.assertEquals(newKeyId, jwtDecoder.decode(login()).getHeaders().get("kid"));
+        Assertions.assertEquals(oldKeyId, jwtDecoder.decode(oldToken).getHeaders().get("kid"));
+    }
+
+    @Test
+    @DisplayName("Should publish a single successor when two nodes rotate the same key")
+    public void rotateShouldPublishOneSuccessorWhenNodesRaceOnSameKey() {
+        RotatingSigningKeySource node = anotherNode(Duration.ZERO);
+        RotatingSigningKeySource otherNode = anotherNode(Duration.ZERO);
+        String current = repository.findFirstByExpiresAtIsNullOrderByActivatesAtDesc().orElseThrow().getId();
+        long keys = repository.count();
+
+        Assertions.assertTrue(node.rotate(current));
+        Assertions.assertFalse(otherNode.rotate(current));
+        signingKeySource.reload();
+
+        Assertions.assertEquals(keys + 1, repository.count());
+        List<SigningKey> unretired = repository.findAll().stream().filter(key -> key.getExpiresAt() == null).toList();
+        Assertions.assertEquals(1, unretired.size());
+        Assertions.assertEquals(unretired.getFirst().getId(), node.signingKeyId());
+        Assertions.assertEquals(node.signingKeyId(), otherNode.signingKeyId());
+        Assertions.assertEquals(node.signingKeyId(), signingKeySource.signingKeyId());
+    }
+
+    @Test
+    @DisplayName("Should create a single first key when two nodes boot on an empty table together")
+    public void initializeShouldCreateOneKeyWhenNodesBootTogether() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> repository.deleteAllInBatch());
+        RotatingSigningKeySource node = anotherNode(Duration.ofMinutes(10));
+        RotatingSigningKeySource otherNode = anotherNode(Duration.ofMinutes(10));
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            List<Future<?>> boots = List.of(
+                    executor.submit(() -> {
+                        start.await();
+                        node.initialize();
+                        return null;
+                    }),
+                    executor.submit(() -> {
+                        start.await();
+                        otherNode.initialize();
+                        return null;
+                    }));
+            start.countDown();
+            for (Future<?> boot : boots) {
+                boot.get();
+            }
+        } finally {
+            signingKeySource.initialize();
+        }
+
+        Assertions.assertEquals(1, repository.count());
+        Assertions.assertEquals(node.signingKeyId(), otherNode.signingKeyId());
+        Assertions.assertEquals(node.signingKeyId(), signingKeySource.signingKeyId());
+    }
+
+    @Test
+    @DisplayName("Should refuse to store keys in the database without an encryption password and salt")
+    public void jwkSourceShouldFailWithoutEncryptionSecrets() {
+        AuthorizationServerConfig config = new AuthorizationServerConfig(null, null);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> config.jwkSource(repository, transactionTemplate,
+                "", "", Duration.ofDays(30), Duration.ofMinutes(10)));
+    }
+}
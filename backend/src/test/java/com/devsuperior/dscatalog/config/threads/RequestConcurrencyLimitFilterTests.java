@@ -0,0 +1,75 @@
+package com.devsuperior.dscatalog.config.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Tag("Unit")
+public class RequestConcurrencyLimitFilterTests {
+
+    private RequestConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RequestConcurrencyLimitFilter(1, Duration.ofMillis(50), Duration.ofSeconds(2),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    @DisplayName("Should answer with 503 and Retry-After while every slot is taken")
+    public void doFilterShouldRejectWhenLimitIsReached() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        CompletableFuture<MockHttpServletResponse> running = CompletableFuture.supplyAsync(() -> perform(blocking));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = perform((request, response) -> Assertions.fail("Should not run"));
+
+        Assertions.assertEquals(503, rejected.getStatus());
+        Assertions.assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        Assertions.assertTrue(rejected.getContentAsString().contains("\"path\":\"/products\""));
+
+        release.countDown();
+        Assertions.assertEquals(200, running.get(5, TimeUnit.SECONDS).getStatus());
+        Assertions.assertEquals(0, filter.getInProgress());
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the request fails")
+    public void doFilterShouldReleaseSlotOnException() {
+        Assertions.assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    throw new IllegalStateException();
+                }));
+
+        Assertions.assertEquals(200, perform((request, response) -> { }).getStatus());
+    }
+
+    private MockHttpServletResponse perform(FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/products"), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsuperior.dscatalog.config.threads;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+@Tag("Unit")
+public class VirtualThreadPinningMonitorTests {
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should report a virtual thread that blocks inside a synchronized block")
+    public void monitorShouldRecordPinnedVirtualThread() throws Exception {
+        Object lock = new Object();
+
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleep(100);
+            }
+        }).join();
+
+        // JFR hands events to the stream about once a second
+        for (int i = 0; i < 100 && monitor.getPinnedCount() == 0; i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertEquals(1, monitor.getPinnedCount());
+    }
+
+    @Test
+    @DisplayName("Should not report a virtual thread that blocks outside monitors")
+    public void monitorShouldIgnoreUnpinnedVirtualThread() throws Exception {
+        Thread.ofVirtual().start(() -> sleep(100)).join();
+
+        Thread.sleep(2000);
+        Assertions.assertEquals(0, monitor.getPinnedCount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
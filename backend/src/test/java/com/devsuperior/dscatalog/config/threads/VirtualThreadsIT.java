@@ -0,0 +1,47 @@
+package com.devsuperior.dscatalog.config.threads;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=8",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@Tag("Integration")
+public class VirtualThreadsIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Test
+    @DisplayName("Should serve requests behind a limit derived from the connection pool size")
+    public void requestsShouldPassThroughConcurrencyLimit() throws Exception {
+        mockMvc.perform(get("/categories")).andExpect(status().isOk());
+
+        Assertions.assertEquals(16, requestConcurrencyLimitFilter.getFilter().getMaxConcurrent());
+        Assertions.assertEquals(0, requestConcurrencyLimitFilter.getFilter().getInProgress());
+    }
+
+    @Test
+    @DisplayName("Should run scheduled jobs on virtual threads")
+    public void scheduledJobsShouldUseVirtualThreads() {
+        Assertions.assertInstanceOf(SimpleAsyncTaskScheduler.class, taskScheduler);
+    }
+}
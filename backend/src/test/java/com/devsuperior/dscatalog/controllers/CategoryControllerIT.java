@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -82,6 +83,22 @@ public class CategoryControllerIT {
         result.andExpect(jsonPath("$.id").value(existingId));
     }
 
+    @Test
+    @DisplayName("Should return 304 Not Modified when the category is unchanged")
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/categories/{id}", existingId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions result =
+                mockMvc.perform(get("/categories/{id}", existingId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found when ID does not exist")
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
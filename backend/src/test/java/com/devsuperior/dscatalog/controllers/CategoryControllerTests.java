@@ -10,6 +10,7 @@ import com.devsuperior.dscatalog.services.CategoryService;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
 import com.devsuperior.dscatalog.tests.Factory;
+import com.devsuperior.dscatalog.util.ResourceVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -61,6 +62,10 @@ public class CategoryControllerTests {
         page = new PageImpl<>(List.of(categoryResponse));
         Mockito.when(categoryService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
 
+        Mockito.when(categoryService.findVersion()).thenReturn(new ResourceVersion("W/\"3-0\"", -1));
+        Mockito.when(categoryService.findVersionById(existingId)).thenReturn(new ResourceVersion("W/\"1-0\"", -1));
+        Mockito.when(categoryService.findVersionById(nonExistingId)).thenThrow(EntityNotFoundException.class);
+
         Mockito.when(categoryService.findById(existingId)).thenReturn(categoryResponse);
         Mockito.when(categoryService.findById(nonExistingId)).thenThrow(EntityNotFoundException.class);
 
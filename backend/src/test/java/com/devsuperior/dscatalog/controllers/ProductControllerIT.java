@@ -1,13 +1,19 @@
 package com.devsuperior.dscatalog.controllers;
 
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.devsuperior.dscatalog.dto.requests.ProductRequest;
 import com.devsuperior.dscatalog.tests.Factory;
 import com.devsuperior.dscatalog.tests.TokenUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
@@ -15,11 +21,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 @Transactional
@@ -71,6 +85,103 @@ public class ProductControllerIT {
         result.andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
     }
 
+    @Test
+    @DisplayName("Should walk every product through keyset cursors sorted by name")
+    public void findAllByCursorShouldWalkAllProducts() throws Exception {
+        ResultActions firstPage =
+                mockMvc.perform(get("/products?cursor=&size=10&count=true")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        firstPage.andExpect(status().isOk());
+        firstPage.andExpect(jsonPath("$.totalElements").value(countTotalProducts));
+        firstPage.andExpect(jsonPath("$.content.length()").value(10));
+        firstPage.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+        firstPage.andExpect(jsonPath("$.content[1].name").value("PC Gamer"));
+
+        String cursor = JsonPath.read(firstPage.andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        ResultActions secondPage =
+                mockMvc.perform(get("/products?size=10&cursor={cursor}", cursor)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        secondPage.andExpect(status().isOk());
+        secondPage.andExpect(jsonPath("$.totalElements").doesNotExist());
+        secondPage.andExpect(jsonPath("$.content.length()").value(10));
+
+        cursor = JsonPath.read(secondPage.andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        ResultActions lastPage =
+                mockMvc.perform(get("/products?size=10&cursor={cursor}", cursor)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        lastPage.andExpect(status().isOk());
+        lastPage.andExpect(jsonPath("$.content.length()").value(5));
+        lastPage.andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return 400 Bad Request when the cursor is malformed")
+    public void findAllByCursorShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/test?cursor=not-a-cursor")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should export every product with its categories as NDJSON")
+    public void exportShouldStreamNdjsonLinePerProduct() throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse();
+
+        String[] lines = response.getContentAsString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(countTotalProducts.intValue(), lines.length);
+        Assertions.assertEquals(existingId, ((Number) JsonPath.read(lines[0], "$.id")).longValue());
+        Assertions.assertFalse(JsonPath.<List<Object>>read(lines[0], "$.categories").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should export the catalog as gzip-encoded CSV when the client accepts gzip")
+    public void exportShouldStreamGzipCsv() throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export?format=csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            String[] lines = new String(gzip.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            Assertions.assertEquals(countTotalProducts.intValue() + 1, lines.length);
+            Assertions.assertTrue(lines[0].startsWith("id,name,"));
+            Assertions.assertTrue(lines[1].startsWith("1,The Lord of the Rings,"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should export the catalog uncompressed when the client refuses gzip")
+    public void exportShouldNotGzipWhenQualityIsZero() throws Exception {
+        MvcResult started = mockMvc.perform(get("/products/export?format=csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+
+        Assertions.assertTrue(response.getContentAsString(StandardCharsets.UTF_8).startsWith("id,name,"));
+    }
+
     @Test
     @DisplayName("Should return product when ID exists")
     public void findByIdShouldReturnProductWhenIdExists() throws Exception {
@@ -83,6 +194,52 @@ public class ProductControllerIT {
         result.andExpect(jsonPath("$.id").value(existingId));
     }
 
+    @Test
+    @DisplayName("Should return 304 Not Modified when the product ETag matches")
+    public void findByIdShouldReturnNotModifiedWhenETagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/products/{id}", existingId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions result =
+                mockMvc.perform(get("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isNotModified());
+        result.andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    @DisplayName("Should return 304 Not Modified for an unchanged product page and 200 after an update")
+    public void findAllShouldHonorIfNoneMatchUntilCatalogChanges() throws Exception {
+        String etag = mockMvc.perform(get("/products?page=0&size=10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products?page=0&size=10")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/products/{id}", existingId)
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .content(objectMapper.writeValueAsString(productRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        ResultActions result =
+                mockMvc.perform(get("/products?page=0&size=10")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
     @Test
     @DisplayName("Should return 404 Not Found when ID does not exist")
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
@@ -113,6 +270,96 @@ public class ProductControllerIT {
         result.andExpect(jsonPath("$.description").exists());
     }
 
+    @Test
+    @DisplayName("Should import valid NDJSON items and report the invalid ones")
+    public void insertAllShouldReportInvalidItemsOfNdjsonStream() throws Exception {
+        ProductRequest blankName = Factory.createProductRequest();
+        blankName.setName("");
+        ProductRequest unknownCategory = Factory.createProductRequest();
+        unknownCategory.getCategories().getFirst().setId(nonExistingId);
+        String body = String.join("\n",
+                objectMapper.writeValueAsString(productRequest),
+                objectMapper.writeValueAsString(blankName),
+                objectMapper.writeValueAsString(unknownCategory));
+
+        ResultActions result =
+                mockMvc.perform(post("/products/batch")
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.received").value(3));
+        result.andExpect(jsonPath("$.inserted").value(1));
+        result.andExpect(jsonPath("$.failures[0].index").value(1));
+        result.andExpect(jsonPath("$.failures[1].index").value(2));
+        result.andExpect(jsonPath("$.failures[1].errors[0].fieldName").value("categories"));
+
+        mockMvc.perform(get("/products?page=0&size=1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalElements").value(countTotalProducts + 1));
+    }
+
+    @Test
+    @DisplayName("Should import a JSON array and skip items that cannot be read")
+    public void insertAllShouldSkipUnreadableItemsOfJsonArray() throws Exception {
+        String item = objectMapper.writeValueAsString(productRequest);
+        String body = "[" + item + ", {\"price\": \"free\"}, " + item + "]";
+
+        ResultActions result =
+                mockMvc.perform(post("/products/batch")
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.received").value(3));
+        result.andExpect(jsonPath("$.inserted").value(2));
+        result.andExpect(jsonPath("$.failures[0].index").value(1));
+    }
+
+    @Test
+    @DisplayName("Should report a null item as an item failure")
+    public void insertAllShouldReportNullItem() throws Exception {
+        String item = objectMapper.writeValueAsString(productRequest);
+        String body = "[" + item + ", null, " + item + "]";
+
+        ResultActions result =
+                mockMvc.perform(post("/products/batch")
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.received").value(3));
+        result.andExpect(jsonPath("$.inserted").value(2));
+        result.andExpect(jsonPath("$.failures[0].index").value(1));
+        result.andExpect(jsonPath("$.failures[0].errors[0].fieldName").value("item"));
+    }
+
+    @Test
+    @DisplayName("Should report null categories as an item failure")
+    public void insertAllShouldReportNullCategories() throws Exception {
+        String item = objectMapper.writeValueAsString(productRequest);
+        String nullCategories = item.replaceFirst("\"categories\":\\[[^\\]]*]", "\"categories\":null");
+        String body = "[" + item + ", " + nullCategories + ", " + item + "]";
+
+        ResultActions result =
+                mockMvc.perform(post("/products/batch")
+                        .header("Authorization", "Bearer " + bearerToken)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.received").value(3));
+        result.andExpect(jsonPath("$.inserted").value(2));
+        result.andExpect(jsonPath("$.failures[0].index").value(1));
+        result.andExpect(jsonPath("$.failures[0].errors[0].fieldName").value("categories"));
+    }
+
     @Test
     @DisplayName("Should update a product when ID exists")
     public void updateShouldReturnProductResponseWhenIdExists() throws Exception {
@@ -6,10 +6,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.devsuperior.dscatalog.dto.requests.ProductRequest;
 import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.services.ProductBatchService;
+import com.devsuperior.dscatalog.services.ProductExportService;
 import com.devsuperior.dscatalog.services.ProductService;
+import com.devsuperior.dscatalog.services.cache.ProductSnapshot;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
 import com.devsuperior.dscatalog.tests.Factory;
+import com.devsuperior.dscatalog.util.ResourceVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -40,6 +44,12 @@ public class ProductControllerTests {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBatchService productBatchService;
+
+    @MockBean
+    private ProductExportService productExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -51,7 +61,7 @@ public class ProductControllerTests {
     private Long dependentId;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         existingId = 1L;
         nonExistingId = 2L;
         dependentId = 3L;
@@ -61,9 +71,11 @@ public class ProductControllerTests {
 
         page = new PageImpl<>(List.of(productResponse));
         Mockito.when(productService.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(productService.findVersion()).thenReturn(new ResourceVersion("W/\"25-0\"", -1));
 
-        Mockito.when(productService.findById(existingId)).thenReturn(productResponse);
-        Mockito.when(productService.findById(nonExistingId)).thenThrow(EntityNotFoundException.class);
+        ProductSnapshot snapshot = ProductSnapshot.of(objectMapper.writeValueAsBytes(productResponse));
+        Mockito.when(productService.findSnapshotById(existingId)).thenReturn(snapshot);
+        Mockito.when(productService.findSnapshotById(nonExistingId)).thenThrow(EntityNotFoundException.class);
 
         Mockito.when(productService.insert(ArgumentMatchers.any(ProductRequest.class))).thenReturn(productResponse);
 
@@ -0,0 +1,40 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Boots the dev profile with Flyway on, against H2 in PostgreSQL mode instead of a real server, so
+ * the startup wiring is checked without Docker. Only V1 runs, as the index migration is PostgreSQL-only;
+ * Hibernate adds the columns of the later migrations, and {@link PostgresMigrationsIT} validates the
+ * entities against the full schema.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:flyway;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.target=1",
+        "spring.jpa.hibernate.ddl-auto=update",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@ActiveProfiles("dev")
+@Tag("Integration")
+public class FlywayStartupIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should start with Flyway migrating the schema before JPA validates it")
+    public void contextShouldStartWithFlywayEnabled() {
+        String version = jdbcTemplate.queryForObject(
+                "SELECT MAX(\"version\") FROM \"flyway_schema_history\" WHERE \"success\" = TRUE", String.class);
+
+        Assertions.assertEquals("1", version);
+    }
+}
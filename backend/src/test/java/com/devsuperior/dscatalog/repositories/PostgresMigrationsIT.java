@@ -0,0 +1,301 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the Flyway migrations on PostgreSQL, validates the entities against the result and checks
+ * with EXPLAIN that each repository query reads through its index. The explained statement is the one
+ * the repository method prepared, bound parameters included, captured at the JDBC level. Sequential
+ * scans are disabled so the small test tables cannot hide a missing index. Skipped when Docker is not
+ * available.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("Integration")
+public class PostgresMigrationsIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordRecoverRepository passwordRecoverRepository;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.execute("INSERT INTO tb_category (name) SELECT 'Category ' || n FROM generate_series(1, 20) n");
+        jdbcTemplate.execute("""
+                INSERT INTO tb_product (name, price)
+                SELECT CASE WHEN n % 250 = 0 THEN 'PC Gamer ' ELSE 'Product ' END || n, n
+                FROM generate_series(1, 5000) n
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO tb_product_category (product_id, category_id)
+                SELECT id, 1 + id % 20 FROM tb_product
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    @DisplayName("Should match product names in the chosen categories through the trigram index")
+    public void countProductsShouldUseTrigramIndex() {
+        String plan = explain(() -> productRepository.countProducts(List.of(3L), "gamer"));
+
+        assertUsesIndex(plan, "ix_product_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Should page matching products in every category through the trigram index")
+    public void searchProductsShouldUseTrigramIndex() {
+        String plan = explain(() -> productRepository.searchProducts(List.of(), "gamer", PageRequest.of(0, 10, Sort.by("name"))));
+
+        assertUsesIndex(plan, "ix_product_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Should page matching products with their total through the trigram index")
+    public void searchProductsWithTotalShouldUseTrigramIndex() {
+        String plan = explain(() -> productRepository.searchProductsWithTotal(List.of(3L), "gamer", PageRequest.of(0, 10, Sort.by("name"))));
+
+        assertUsesIndex(plan, "ix_product_name_trgm");
+    }
+
+    @Test
+    @DisplayName("Should page products by name and id through the name index")
+    public void searchProductsAfterShouldUseNameIndex() {
+        String plan = explain(() -> productRepository.searchProductsAfter("Product 10", 10L, 20));
+
+        assertUsesIndex(plan, "ix_product_name_id");
+    }
+
+    @Test
+    @DisplayName("Should load the categories of a page of products through the product index")
+    public void searchProductRowsWithCategoriesShouldUseProductIndex() {
+        String plan = explain(() -> productRepository.searchProductRowsWithCategories(List.of(1L, 2L, 3L)));
+
+        assertUsesIndex(plan, "ix_product_category_product");
+    }
+
+    @Test
+    @DisplayName("Should load a user and its roles through the email and user indexes")
+    public void searchUserAndRolesByEmailShouldUseEmailAndUserIndexes() {
+        String plan = explain(() -> userRepository.searchUserAndRolesByEmail("maria@gmail.com"));
+
+        assertUsesIndex(plan, "tb_user_email_key");
+        assertUsesIndex(plan, "ix_user_role_user");
+    }
+
+    @Test
+    @DisplayName("Should find valid recovery tokens through the partial token index")
+    public void searchValidTokensShouldUseTokenIndex() {
+        String plan = explain(() -> passwordRecoverRepository.searchValidTokens("abc", Instant.now()));
+
+        assertUsesIndex(plan, "ix_password_recover_token");
+    }
+
+    @Test
+    @DisplayName("Should find valid recovery tokens of an email through the partial email index")
+    public void searchValidTokensFromEmailShouldUseEmailIndex() {
+        String plan = explain(() -> passwordRecoverRepository.searchValidTokensFromEmail("maria@gmail.com", Instant.now()));
+
+        assertUsesIndex(plan, "ix_password_recover_email");
+    }
+
+    @Test
+    @DisplayName("Should find due outbox messages through the partial next attempt index")
+    public void searchDueIdsShouldUseNextAttemptIndex() {
+        String plan = explain(() -> emailOutboxRepository.searchDueIds(OffsetDateTime.now(), PageRequest.of(0, 10)));
+
+        assertUsesIndex(plan, "ix_email_outbox_next_attempt");
+    }
+
+    /**
+     * Runs the repository call, then explains the last statement it prepared with the same bound
+     * parameters, so the plan is the one of the SQL Hibernate actually sends.
+     */
+    private String explain(Runnable repositoryCall) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            CapturedStatement statement = CapturingDataSource.capture(repositoryCall);
+            return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                    statement.bind(explain);
+                    List<String> lines = new ArrayList<>();
+                    try (ResultSet resultSet = explain.executeQuery()) {
+                        while (resultSet.next()) {
+                            lines.add(resultSet.getString(1));
+                        }
+                    }
+                    return String.join("\n", lines);
+                }
+            });
+        });
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        Assertions.assertTrue(plan.contains(" " + index), "Expected a scan of " + index + " in:\n" + plan);
+        Assertions.assertFalse(plan.contains("Seq Scan"), "Expected no sequential scan in:\n" + plan);
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private record CapturedStatement(String sql, List<Binding> bindings) {
+
+        void bind(PreparedStatement statement) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.method().invoke(statement, binding.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Could not replay " + binding.method().getName(), e);
+                }
+            }
+        }
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Records the SQL and parameter setters of the statements prepared while {@link #capture} runs.
+     */
+    private static final class CapturingDataSource extends DelegatingDataSource {
+
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        static CapturedStatement capture(Runnable call) {
+            List<CapturedStatement> statements = new ArrayList<>();
+            CAPTURED.set(statements);
+            try {
+                call.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            Assertions.assertFalse(statements.isEmpty(), "Expected the repository call to prepare a statement");
+            return statements.getLast();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                List<CapturedStatement> statements = CAPTURED.get();
+                if (statements == null || !method.getName().equals("prepareStatement")) {
+                    return result;
+                }
+                CapturedStatement statement = new CapturedStatement((String) args[0], new ArrayList<>());
+                statements.add(statement);
+                return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, setterArgs, value) -> {
+                    // Parameter setters take the parameter index first; setMaxRows and friends take one argument
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length > 1
+                            && setterArgs[0] instanceof Integer) {
+                        statement.bindings().add(new Binding(setter, setterArgs.clone()));
+                    }
+                    return value;
+                });
+            });
+        }
+
+        private interface Interceptor {
+            Object afterInvoke(Method method, Object[] args, Object result) throws Throwable;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                return interceptor.afterInvoke(method, args, result);
+            });
+        }
+    }
+}
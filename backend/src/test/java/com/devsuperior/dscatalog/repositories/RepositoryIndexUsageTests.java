@@ -0,0 +1,128 @@
+package com.devsuperior.dscatalog.repositories;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Asks H2 for the plan of each repository query and checks it reads through the expected index.
+ * Native queries are taken from the repositories; JPQL ones are written out as the SQL Hibernate runs.
+ * Only equality and range predicates are checked here: H2 has no trigram index, so whichever index it
+ * picks for {@code LIKE '%name%'} says nothing about PostgreSQL, which {@link PostgresMigrationsIT} covers.
+ */
+@DataJpaTest
+@Tag("Unit")
+public class RepositoryIndexUsageTests {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should join the catalog search to the categories through the product index")
+    public void searchProductsShouldUseProductCategoryIndex() throws Exception {
+        // Hibernate adds the parentheses around an expanded list parameter, the JDBC template does not
+        String sql = nativeQuery(ProductRepository.class, "searchProducts", List.class, String.class, Pageable.class)
+                .replace("IN :categoryIds", "IN (:categoryIds)");
+
+        String plan = explain(sql, Map.of("categoryIds", List.of(3L), "name", "gamer"));
+
+        assertUsesIndex(plan, "TB_PRODUCT_CATEGORY", "IX_PRODUCT_CATEGORY_PRODUCT");
+    }
+
+    @Test
+    @DisplayName("Should page products by name and id through the name index")
+    public void searchProductsAfterShouldUseNameIndex() throws Exception {
+        String sql = nativeQuery(ProductRepository.class, "searchProductsAfter", String.class, Long.class, int.class);
+
+        String plan = explain(sql, Map.of("lastName", "PC Gamer", "lastId", 4L, "limit", 10));
+
+        assertUsesIndex(plan, "TB_PRODUCT", "IX_PRODUCT_NAME_ID");
+    }
+
+    @Test
+    @DisplayName("Should load the categories of a page of products through the product index")
+    public void searchProductRowsWithCategoriesShouldUseProductIndex() {
+        String plan = explain("""
+                SELECT p.id, p.name, c.id, c.name
+                FROM tb_product p
+                LEFT JOIN tb_product_category pc ON pc.product_id = p.id
+                LEFT JOIN tb_category c ON c.id = pc.category_id
+                WHERE p.id IN (:productIds)
+                """, Map.of("productIds", List.of(1L, 2L, 3L)));
+
+        assertUsesIndex(plan, "TB_PRODUCT_CATEGORY", "IX_PRODUCT_CATEGORY_PRODUCT");
+    }
+
+    @Test
+    @DisplayName("Should load a user and its roles through the email and user indexes")
+    public void searchUserAndRolesByEmailShouldUseEmailAndUserIndexes() throws Exception {
+        String sql = nativeQuery(UserRepository.class, "searchUserAndRolesByEmail", String.class);
+
+        String plan = explain(sql, Map.of("email", "maria@gmail.com"));
+
+        assertUsesIndex(plan, "TB_USER", "CONSTRAINT_INDEX_");
+        assertUsesIndex(plan, "TB_USER_ROLE", "IX_USER_ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should find valid recovery tokens through the token index")
+    public void searchValidTokensShouldUseTokenIndex() {
+        String plan = explain("""
+                SELECT pr.id FROM tb_password_recover pr
+                WHERE pr.token = :token AND pr.expiration > :now AND pr.used_at IS NULL
+                """, Map.of("token", "abc", "now", Instant.now()));
+
+        assertUsesIndex(plan, "TB_PASSWORD_RECOVER", "IX_PASSWORD_RECOVER_TOKEN");
+    }
+
+    @Test
+    @DisplayName("Should find valid recovery tokens of an email through the email index")
+    public void searchValidTokensFromEmailShouldUseEmailIndex() {
+        String plan = explain("""
+                SELECT pr.id FROM tb_password_recover pr
+                WHERE pr.email = :email AND pr.expiration > :now AND pr.used_at IS NULL
+                """, Map.of("email", "maria@gmail.com", "now", Instant.now()));
+
+        assertUsesIndex(plan, "TB_PASSWORD_RECOVER", "IX_PASSWORD_RECOVER_EMAIL");
+    }
+
+    @Test
+    @DisplayName("Should find due outbox messages through the next attempt index")
+    public void searchDueIdsShouldUseNextAttemptIndex() throws Exception {
+        String sql = nativeQuery(EmailOutboxRepository.class, "searchDueIds", OffsetDateTime.class, Pageable.class);
+
+        String plan = explain(sql, Map.of("now", OffsetDateTime.now()));
+
+        assertUsesIndex(plan, "TB_EMAIL_OUTBOX", "IX_EMAIL_OUTBOX_NEXT_ATTEMPT");
+    }
+
+    private String explain(String sql, Map<String, ?> params) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, params, String.class);
+    }
+
+    private static String nativeQuery(Class<?> repository, String method, Class<?>... parameterTypes) throws Exception {
+        return repository.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+    }
+
+    // H2 writes the index it reads a table through as a comment right after the table
+    private static void assertUsesIndex(String plan, String table, String index) {
+        Matcher matcher = Pattern.compile("\"?PUBLIC\"?\\.\"?" + table + "\"?(?: \"?\\w+\"?)?\\s*/\\* PUBLIC\\.(\\w+)")
+                .matcher(plan.toUpperCase(Locale.ROOT));
+        boolean found = false;
+        while (matcher.find()) {
+            found |= matcher.group(1).startsWith(index);
+        }
+        Assertions.assertTrue(found, "Expected " + table + " to be read through " + index + " in:\n" + plan);
+    }
+}
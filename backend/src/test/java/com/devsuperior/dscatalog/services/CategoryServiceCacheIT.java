@@ -0,0 +1,77 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryRequest;
+import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Tag("Integration")
+public class CategoryServiceCacheIT {
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long existingId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        existingId = 1L;
+    }
+
+    @Test
+    @DisplayName("Should answer repeated category listings from the query cache")
+    public void findAllShouldHitQueryCacheOnRepeatedCalls() {
+        categoryService.findAll();
+        statistics.clear();
+
+        List<CategoryResponse> result = categoryService.findAll();
+
+        Assertions.assertFalse(result.isEmpty());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should answer repeated category lookups from the entity cache")
+    public void findByIdShouldHitEntityCacheOnRepeatedCalls() {
+        categoryService.findById(existingId);
+        statistics.clear();
+
+        categoryService.findById(existingId);
+
+        Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should evict cached listings and entities when a category is updated")
+    public void updateShouldEvictCachedCategory() {
+        String originalName = categoryService.findById(existingId).getName();
+        categoryService.findAll();
+
+        try {
+            categoryService.update(new CategoryRequest("Renamed"), existingId);
+
+            Assertions.assertEquals("Renamed", categoryService.findById(existingId).getName());
+            Assertions.assertTrue(categoryService.findAll().stream()
+                    .anyMatch(category -> "Renamed".equals(category.getName())));
+        } finally {
+            categoryService.update(new CategoryRequest(originalName), existingId);
+        }
+    }
+}
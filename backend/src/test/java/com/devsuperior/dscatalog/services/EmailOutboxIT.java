@@ -0,0 +1,104 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.entities.EmailOutbox;
+import com.devsuperior.dscatalog.entities.EmailOutboxStatus;
+import com.devsuperior.dscatalog.repositories.EmailOutboxRepository;
+import com.devsuperior.dscatalog.services.exceptions.EmailException;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Sort;
+
+@SpringBootTest(properties = {
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "dscatalog.email.outbox.poll-interval-ms=200",
+        "dscatalog.email.outbox.backoff-initial=100ms"
+})
+@Tag("Integration")
+public class EmailOutboxIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@gmail.com", "123456"));
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @SpyBean
+    private EmailServices emailServices;
+
+    private String existingEmail;
+
+    @BeforeEach
+    void setUp() {
+        existingEmail = "maria@gmail.com";
+    }
+
+    private EmailOutbox awaitLatestEmail(EmailOutboxStatus status) throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            EmailOutbox latest = emailOutboxRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).getFirst();
+            if (latest.getStatus() == status) {
+                return latest;
+            }
+            Thread.sleep(100);
+        }
+        return Assertions.fail("Outbox message did not reach " + status);
+    }
+
+    @Test
+    @DisplayName("Should deliver the recovery email from the outbox after the request returns")
+    public void createRecoveryTokenShouldDeliverEmailThroughOutbox() throws Exception {
+        authService.createRecoveryToken(existingEmail);
+
+        Assertions.assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage message = greenMail.getReceivedMessages()[0];
+        Assertions.assertEquals(existingEmail, message.getAllRecipients()[0].toString());
+        Assertions.assertEquals("Password recovery", message.getSubject());
+
+        EmailOutbox email = awaitLatestEmail(EmailOutboxStatus.SENT);
+        Assertions.assertEquals(1, email.getAttempts());
+        Assertions.assertNotNull(email.getSentAt());
+    }
+
+    @Test
+    @DisplayName("Should retry with backoff when the mail server fails")
+    public void createRecoveryTokenShouldRetryWhenMailServerFails() throws Exception {
+        Mockito.doThrow(new EmailException("Failed to send email: connection refused"))
+                .doCallRealMethod()
+                .when(emailServices).sendEmail(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        Assertions.assertDoesNotThrow(() -> authService.createRecoveryToken(existingEmail));
+
+        Assertions.assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        EmailOutbox email = awaitLatestEmail(EmailOutboxStatus.SENT);
+        Assertions.assertEquals(2, email.getAttempts());
+        Assertions.assertNull(email.getLastError());
+    }
+
+    @Test
+    @DisplayName("Should record the attempt and retry when sending fails with an unexpected error")
+    public void createRecoveryTokenShouldRetryWhenSendingFailsUnexpectedly() throws Exception {
+        Mockito.doThrow(new IllegalStateException())
+                .doCallRealMethod()
+                .when(emailServices).sendEmail(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any());
+
+        authService.createRecoveryToken(existingEmail);
+
+        Assertions.assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        EmailOutbox email = awaitLatestEmail(EmailOutboxStatus.SENT);
+        Assertions.assertEquals(2, email.getAttempts());
+    }
+}
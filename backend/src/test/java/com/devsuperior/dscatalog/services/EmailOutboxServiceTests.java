@@ -0,0 +1,37 @@
+package com.devsuperior.dscatalog.services;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+@Tag("Unit")
+public class EmailOutboxServiceTests {
+
+    private Duration initial;
+    private Duration max;
+
+    @BeforeEach
+    void setUp() {
+        initial = Duration.ofSeconds(30);
+        max = Duration.ofHours(1);
+    }
+
+    @Test
+    @DisplayName("Should double the retry delay on every attempt, with up to half of it as jitter")
+    public void backoffShouldGrowExponentiallyWithJitter() {
+        for (int attempt = 1; attempt <= 5; attempt++) {
+            Duration expected = initial.multipliedBy(1L << (attempt - 1));
+            Duration delay = EmailOutboxService.backoff(attempt, initial, max);
+
+            Assertions.assertTrue(delay.compareTo(expected.dividedBy(2)) >= 0);
+            Assertions.assertTrue(delay.compareTo(expected) <= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should never wait longer than the maximum delay")
+    public void backoffShouldBeCappedAtMaximum() {
+        Assertions.assertTrue(EmailOutboxService.backoff(40, initial, max).compareTo(max) <= 0);
+        Assertions.assertTrue(EmailOutboxService.backoff(40, initial, max).compareTo(max.dividedBy(2)) >= 0);
+    }
+}
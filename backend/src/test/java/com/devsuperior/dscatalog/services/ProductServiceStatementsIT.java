@@ -0,0 +1,92 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Transactional
+@Tag("Integration")
+public class ProductServiceStatementsIT {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a page of products with their categories in three statements")
+    public void findAllShouldUseFixedNumberOfStatementsPerPage() {
+        Page<ProductResponse> result = productService.findAll(PageRequest.of(0, 25, Sort.by("name")));
+
+        Assertions.assertEquals(25, result.getNumberOfElements());
+        Assertions.assertFalse(result.getContent().getFirst().getCategories().isEmpty());
+        // id page + count + batched category fetch
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should search a page of products with total and categories in two statements")
+    public void findAllProductProjectionShouldUseTwoStatementsPerPage() {
+        Page<ProductResponse> result = productService.findAllProductProjection(
+                "0", "pc gamer", PageRequest.of(1, 5, Sort.by("name")));
+
+        Assertions.assertEquals(5, result.getNumberOfElements());
+        Assertions.assertEquals(21, result.getTotalElements());
+        Assertions.assertEquals("PC Gamer Ex", result.getContent().getFirst().getName());
+        Assertions.assertFalse(result.getContent().getFirst().getCategories().isEmpty());
+        // page ids with COUNT(*) OVER() + flat product/category rows
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Should search a page with a cached total without counting the matches again")
+    public void findAllProductProjectionShouldReuseCachedTotal() {
+        productService.findAllProductProjection("0", "pc gamer", PageRequest.of(0, 5, Sort.by("name")));
+        entityManager.clear();
+        statistics.clear();
+
+        Page<ProductResponse> result = productService.findAllProductProjection(
+                "0", "pc gamer", PageRequest.of(2, 5, Sort.by("name")));
+
+        Assertions.assertEquals(5, result.getNumberOfElements());
+        Assertions.assertEquals(21, result.getTotalElements());
+        // plain page ids + flat product/category rows
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should load a product with its categories in a single statement")
+    public void findByIdShouldUseSingleStatement() {
+        ProductResponse result = productService.findById(1L);
+
+        Assertions.assertFalse(result.getCategories().isEmpty());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
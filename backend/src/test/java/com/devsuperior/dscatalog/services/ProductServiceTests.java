@@ -4,10 +4,14 @@ import com.devsuperior.dscatalog.dto.requests.ProductRequest;
 import com.devsuperior.dscatalog.dto.responses.ProductResponse;
 import com.devsuperior.dscatalog.entities.Category;
 import com.devsuperior.dscatalog.entities.Product;
+import com.devsuperior.dscatalog.projections.ProductProjection;
 import com.devsuperior.dscatalog.repositories.CategoryRepository;
 import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.cache.ProductSnapshotCache;
 import com.devsuperior.dscatalog.services.exceptions.DatabaseIntegrityException;
 import com.devsuperior.dscatalog.services.exceptions.EntityNotFoundException;
+import com.devsuperior.dscatalog.services.search.ProductCountCache;
+import com.devsuperior.dscatalog.services.search.ProductSearchIndex;
 import com.devsuperior.dscatalog.tests.Factory;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +19,15 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,10 +45,25 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductCountCache productCountCache;
+
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private Long existingId;
     private Long nonExistingId;
     private Long dependentId;
-    private PageImpl<Product> page;
+    private PageImpl<ProductProjection> page;
     private Product product;
     private Category category;
 
@@ -52,10 +74,21 @@ public class ProductServiceTests {
         nonExistingId = 3L;
         dependentId = 4L;
         product = Factory.createProduct();
-        page = new PageImpl<>(List.of(product));
+        page = new PageImpl<>(List.of(new ProductProjection() {
+            @Override
+            public Long getId() {
+                return product.getId();
+            }
+
+            @Override
+            public String getName() {
+                return product.getName();
+            }
+        }));
         category = Factory.createCategory();
 
-        Mockito.when(productRepository.findAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(productRepository.searchAll(ArgumentMatchers.any(Pageable.class))).thenReturn(page);
+        Mockito.when(productRepository.searchProductsWithCategories(ArgumentMatchers.anyList())).thenReturn(List.of(product));
 
         Mockito.when(productRepository.findById(existingId)).thenReturn(Optional.of(product));
         Mockito.when(productRepository.findById(nonExistingId)).thenReturn(Optional.empty());
@@ -84,7 +117,21 @@ public class ProductServiceTests {
         Page<ProductResponse> result = productService.findAll(pageable);
 
         Assertions.assertNotNull(result);
-        Mockito.verify(productRepository, Mockito.times(1)).findAll(pageable);
+        Mockito.verify(productRepository, Mockito.times(1)).searchAll(pageable);
+        Mockito.verify(productRepository, Mockito.times(1)).searchProductsWithCategories(List.of(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Should search with SQL when the index cannot apply the requested sort")
+    public void findAllProductProjectionShouldUseSqlWhenIndexDoesNotSupportSort() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+        Mockito.when(productSearchIndex.isEnabled()).thenReturn(true);
+        Mockito.when(productSearchIndex.supports(pageable.getSort())).thenReturn(false);
+
+        productService.findAllProductProjection("0", "", pageable);
+
+        Mockito.verify(productSearchIndex, Mockito.never()).search(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.verify(productRepository, Mockito.times(1)).searchProductsWithTotal(List.of(), "", pageable);
     }
 
     @Test
@@ -0,0 +1,147 @@
+package com.devsuperior.dscatalog.services;
+
+import com.devsuperior.dscatalog.dto.requests.NewPasswordRequest;
+import com.devsuperior.dscatalog.dto.requests.RoleRequest;
+import com.devsuperior.dscatalog.dto.requests.UserInsertRequest;
+import com.devsuperior.dscatalog.dto.requests.UserUpdateRequest;
+import com.devsuperior.dscatalog.dto.responses.UserResponse;
+import com.devsuperior.dscatalog.entities.PasswordRecover;
+import com.devsuperior.dscatalog.repositories.PasswordRecoverRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Tag("Integration")
+public class UserDetailsCacheIT {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PasswordRecoverRepository passwordRecoverRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long existingId;
+    private String existingEmail;
+    private String existingPassword;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        existingId = 1L;
+        existingEmail = "alex@gmail.com";
+        existingPassword = "123456";
+    }
+
+    private void changePassword(String email, String password) {
+        PasswordRecover recover = passwordRecoverRepository.save(PasswordRecover.builder()
+                .email(email)
+                .token(UUID.randomUUID().toString())
+                .expiration(Instant.now().plusSeconds(60))
+                .build());
+        authService.setNewPassword(new NewPasswordRequest(recover.getToken(), password));
+    }
+
+    private UserUpdateRequest updateRequest(Long... roleIds) {
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setId(existingId);
+        request.setFirstName("Alex");
+        request.setLastName("Brown");
+        request.setEmail(existingEmail);
+        for (Long roleId : roleIds) {
+            request.getRoles().add(new RoleRequest(roleId));
+        }
+        return request;
+    }
+
+    private List<String> authorities(UserDetails user) {
+        return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().toList();
+    }
+
+    @Test
+    @DisplayName("Should answer repeated user lookups without querying the database")
+    public void loadUserByUsernameShouldBeCached() {
+        userService.loadUserByUsername(existingEmail);
+        statistics.clear();
+
+        UserDetails result = userService.loadUserByUsername(existingEmail);
+
+        Assertions.assertEquals(existingEmail, result.getUsername());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should use the new password right after it is changed")
+    public void loadUserByUsernameShouldReflectPasswordChange() {
+        userService.loadUserByUsername(existingEmail);
+
+        try {
+            changePassword(existingEmail, "new-password");
+
+            UserDetails result = userService.loadUserByUsername(existingEmail);
+            Assertions.assertTrue(passwordEncoder.matches("new-password", result.getPassword()));
+            Assertions.assertFalse(passwordEncoder.matches(existingPassword, result.getPassword()));
+        } finally {
+            changePassword(existingEmail, existingPassword);
+        }
+        Assertions.assertTrue(passwordEncoder.matches(existingPassword,
+                userService.loadUserByUsername(existingEmail).getPassword()));
+    }
+
+    @Test
+    @DisplayName("Should use the new roles right after they are changed")
+    public void loadUserByUsernameShouldReflectRoleChange() {
+        Assertions.assertEquals(List.of("ROLE_OPERATOR"), authorities(userService.loadUserByUsername(existingEmail)));
+
+        try {
+            userService.update(updateRequest(1L, 2L), existingId);
+
+            Assertions.assertEquals(List.of("ROLE_ADMIN", "ROLE_OPERATOR"),
+                    authorities(userService.loadUserByUsername(existingEmail)));
+        } finally {
+            userService.update(updateRequest(1L), existingId);
+        }
+        Assertions.assertEquals(List.of("ROLE_OPERATOR"), authorities(userService.loadUserByUsername(existingEmail)));
+    }
+
+    @Test
+    @DisplayName("Should stop authenticating a user right after it is deleted")
+    public void loadUserByUsernameShouldThrowAfterDelete() {
+        UserInsertRequest request = new UserInsertRequest();
+        request.setFirstName("Cache");
+        request.setLastName("Test");
+        request.setEmail("cache@gmail.com");
+        request.setPassword("12345678");
+        UserResponse inserted = userService.insert(request);
+        userService.loadUserByUsername("cache@gmail.com");
+
+        userService.deleteById(inserted.getId());
+
+        Assertions.assertThrows(UsernameNotFoundException.class,
+                () -> userService.loadUserByUsername("cache@gmail.com"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.services.events.CategoryChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.tests.Factory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("Unit")
+public class ProductSnapshotCacheTests {
+
+    private ProductSnapshotCache cache;
+    private AtomicInteger loads;
+    private ProductResponse productResponse;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductSnapshotCache(new ObjectMapper().registerModule(new JavaTimeModule()), 60L, 100L);
+        loads = new AtomicInteger();
+        productResponse = Factory.createProductResponse();
+    }
+
+    private ProductResponse load() {
+        loads.incrementAndGet();
+        return productResponse;
+    }
+
+    @Test
+    @DisplayName("Should serialize a product once and reuse the snapshot")
+    public void getShouldReuseSnapshot() {
+        ProductSnapshot first = cache.get(1L, this::load);
+        ProductSnapshot second = cache.get(1L, this::load);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when the product content changes")
+    public void getShouldChangeETagWhenProductChanges() {
+        ProductSnapshot before = cache.get(1L, this::load);
+        productResponse.setName("Renamed");
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        ProductSnapshot after = cache.get(1L, this::load);
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    @DisplayName("Should drop every snapshot when a category changes")
+    public void getShouldReloadAfterCategoryChanges() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.onCategoryChanged(new CategoryChangedEvent(1L));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        Assertions.assertEquals(4, loads.get());
+    }
+}
@@ -0,0 +1,81 @@
+package com.devsuperior.dscatalog.services.cache;
+
+import org.junit.jupiter.api.*;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("Unit")
+public class VerifiedJwtCacheTests {
+
+    private VerifiedJwtCache cache;
+    private AtomicInteger decodes;
+    private AtomicInteger conversions;
+    private JwtDecoder decoder;
+    private Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedJwtCache(100L);
+        decodes = new AtomicInteger();
+        conversions = new AtomicInteger();
+        decoder = cache.decoder(token -> {
+            decodes.incrementAndGet();
+            if (token.startsWith("bad")) {
+                throw new BadJwtException("Invalid signature");
+            }
+            Instant expiresAt = token.startsWith("expired") ? Instant.now().minusSeconds(1) : Instant.now().plusSeconds(60);
+            return Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .claim("authorities", List.of("ROLE_ADMIN"))
+                    .issuedAt(expiresAt.minusSeconds(120))
+                    .expiresAt(expiresAt)
+                    .build();
+        });
+        authoritiesConverter = cache.authoritiesConverter(jwt -> {
+            conversions.incrementAndGet();
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        });
+    }
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated requests from the cache")
+    public void decodeShouldVerifyTokenOnce() {
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, decodes.get());
+        Assertions.assertNotSame(first, decoder.decode("token-b"));
+        Assertions.assertEquals(2, decodes.get());
+    }
+
+    @Test
+    @DisplayName("Should convert the authorities of a cached token once")
+    public void authoritiesShouldBeConvertedOnce() {
+        Collection<GrantedAuthority> first = authoritiesConverter.convert(decoder.decode("token-a"));
+        Collection<GrantedAuthority> second = authoritiesConverter.convert(decoder.decode("token-a"));
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(1, conversions.get());
+    }
+
+    @Test
+    @DisplayName("Should not cache expired or rejected tokens")
+    public void decodeShouldNotCacheExpiredOrInvalidTokens() {
+        decoder.decode("expired-token");
+        decoder.decode("expired-token");
+        Assertions.assertThrows(BadJwtException.class, () -> decoder.decode("bad-token"));
+        Assertions.assertThrows(BadJwtException.class, () -> decoder.decode("bad-token"));
+
+        Assertions.assertEquals(4, decodes.get());
+    }
+}
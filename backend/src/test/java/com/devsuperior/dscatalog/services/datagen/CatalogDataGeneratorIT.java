@@ -0,0 +1,139 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryProductRequest;
+import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import com.devsuperior.dscatalog.services.ProductService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// A database of its own, so the generated rows do not leak into the other integration tests
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datagen",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Tag("Integration")
+public class CatalogDataGeneratorIT {
+
+    @Autowired
+    private CatalogDataGenerator generator;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogDataSpec spec;
+
+    @BeforeEach
+    void setUp() {
+        spec = CatalogDataSpec.builder()
+                .categories(10)
+                .products(2_000)
+                .users(100)
+                .passwordRecovers(50)
+                .descriptionMinLength(50)
+                .descriptionMaxLength(300)
+                .batchSize(300)
+                .build();
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    @Test
+    @DisplayName("Should write the requested rows with skewed categories, accented names and bounded descriptions")
+    public void generateShouldWriteRowsShapedBySpec() {
+        long maxProductId = count("SELECT COALESCE(MAX(id), 0) FROM tb_product");
+        long maxUserId = count("SELECT COALESCE(MAX(id), 0) FROM tb_user");
+        long products = count("SELECT COUNT(*) FROM tb_product");
+        long users = count("SELECT COUNT(*) FROM tb_user");
+
+        CatalogDataSummary summary = generator.generate(spec);
+
+        Assertions.assertEquals(2_000, summary.products());
+        Assertions.assertEquals(products + 2_000, count("SELECT COUNT(*) FROM tb_product"));
+        Assertions.assertEquals(users + 100, count("SELECT COUNT(*) FROM tb_user"));
+        Assertions.assertEquals(summary.productCategories(),
+                count("SELECT COUNT(*) FROM tb_product_category WHERE product_id > ?", maxProductId));
+
+        List<Long> perProduct = jdbcTemplate.queryForList("""
+                SELECT COUNT(*) FROM tb_product_category WHERE product_id > ? GROUP BY product_id
+                """, Long.class, maxProductId);
+        Assertions.assertEquals(2_000, perProduct.size());
+        Assertions.assertTrue(perProduct.stream().allMatch(links -> links >= 1 && links <= 3));
+
+        List<Long> perCategory = jdbcTemplate.queryForList("""
+                SELECT COUNT(*) FROM tb_product_category WHERE product_id > ? GROUP BY category_id ORDER BY COUNT(*) DESC
+                """, Long.class, maxProductId);
+        Assertions.assertTrue(perCategory.getFirst() > 5 * perCategory.getLast());
+
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM tb_product WHERE id > ?", String.class, maxProductId);
+        Assertions.assertTrue(names.stream().anyMatch(name -> name.chars().anyMatch(c -> c > 127)));
+        Assertions.assertEquals(0, count("""
+                SELECT COUNT(*) FROM tb_product WHERE id > ? AND (LENGTH(description) > 300 OR LENGTH(name) > 100)
+                """, maxProductId));
+
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM tb_user WHERE id = ?", String.class, maxUserId + 1);
+        Assertions.assertTrue(passwordEncoder.matches("123456", hash));
+        Assertions.assertEquals(0, count("""
+                SELECT COUNT(*) FROM tb_password_recover pr WHERE NOT EXISTS (SELECT 1 FROM tb_user u WHERE u.email = pr.email)
+                """));
+    }
+
+    @Test
+    @DisplayName("Should leave identities, caches and searches consistent with the generated rows")
+    public void generateShouldKeepApplicationConsistent() {
+        long before = productService.findAllProductProjection("0", "", PageRequest.of(0, 12)).getTotalElements();
+
+        generator.generate(spec);
+
+        long after = productService.findAllProductProjection("0", "", PageRequest.of(0, 12)).getTotalElements();
+        Assertions.assertEquals(before + 2_000, after);
+
+        ProductRequest request = ProductRequest.builder()
+                .name("Produto inserido")
+                .description("Inserido depois da geração")
+                .price(10.0)
+                .date(OffsetDateTime.now())
+                .categories(List.of(new CategoryProductRequest(1L)))
+                .build();
+        Long id = productService.insert(request).getId();
+        Assertions.assertEquals(count("SELECT MAX(id) FROM tb_product"), id);
+    }
+
+    @Test
+    @DisplayName("Should keep the committed rows and move the identities past them when a run fails")
+    public void generateShouldRestartIdentitiesWhenRunFails() {
+        long products = count("SELECT COUNT(*) FROM tb_product");
+        // Users are written after the products, and fail without ROLE_OPERATOR
+        jdbcTemplate.update("UPDATE tb_role SET authority = 'ROLE_RENAMED' WHERE authority = 'ROLE_OPERATOR'");
+        try {
+            Assertions.assertThrows(IllegalStateException.class, () -> generator.generate(spec));
+        } finally {
+            jdbcTemplate.update("UPDATE tb_role SET authority = 'ROLE_OPERATOR' WHERE authority = 'ROLE_RENAMED'");
+        }
+
+        Assertions.assertEquals(products + 2_000, count("SELECT COUNT(*) FROM tb_product"));
+        ProductRequest request = ProductRequest.builder()
+                .name("Produto inserido")
+                .description("Inserido depois da falha")
+                .price(10.0)
+                .date(OffsetDateTime.now())
+                .categories(List.of(new CategoryProductRequest(1L)))
+                .build();
+        Long id = productService.insert(request).getId();
+        Assertions.assertEquals(count("SELECT MAX(id) FROM tb_product"), id);
+    }
+}
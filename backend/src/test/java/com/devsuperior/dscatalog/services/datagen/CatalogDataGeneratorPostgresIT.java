@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+/**
+ * Generates data through the COPY writer on a migrated PostgreSQL. Skipped when Docker is not
+ * available.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.defer-datasource-initialization=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "dscatalog.email.outbox.poll-interval-ms=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+@Tag("Integration")
+public class CatalogDataGeneratorPostgresIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private CatalogDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_role", Long.class) == 0) {
+            jdbcTemplate.execute("INSERT INTO tb_role (authority) VALUES ('ROLE_OPERATOR'), ('ROLE_ADMIN')");
+        }
+    }
+
+    @Test
+    @DisplayName("Should copy the generated rows into PostgreSQL and move the identities past them")
+    public void generateShouldCopyRowsWhenDatabaseIsPostgres() {
+        CatalogDataSummary summary = generator.generate(CatalogDataSpec.builder()
+                .categories(20)
+                .products(5_000)
+                .users(200)
+                .passwordRecovers(100)
+                .batchSize(1_000)
+                .build());
+
+        Assertions.assertEquals(5_000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class));
+        Assertions.assertEquals(summary.productCategories(),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product_category", Long.class));
+        Assertions.assertEquals(summary.userRoles(),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_user_role", Long.class));
+
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM tb_product", String.class);
+        Assertions.assertTrue(names.stream().anyMatch(name -> name.chars().anyMatch(c -> c > 127)));
+
+        Long insertedId = jdbcTemplate.queryForObject(
+                "INSERT INTO tb_product (name) VALUES ('After generation') RETURNING id", Long.class);
+        Assertions.assertEquals(5_001L, insertedId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.services.datagen;
+
+import org.junit.jupiter.api.*;
+
+import java.util.SplittableRandom;
+
+@Tag("Unit")
+public class ZipfSamplerTests {
+
+    private static final int DRAWS = 100_000;
+
+    private int[] draw(int size, double exponent) {
+        ZipfSampler sampler = new ZipfSampler(size, exponent);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[size];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[sampler.sample(random)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should draw every rank about as often when the exponent is zero")
+    public void sampleShouldBeUniformWhenExponentIsZero() {
+        int[] counts = draw(10, 0);
+
+        for (int count : counts) {
+            Assertions.assertEquals(DRAWS / 10.0, count, DRAWS * 0.01);
+        }
+    }
+
+    @Test
+    @DisplayName("Should draw rank k about 1/k^s as often as the first rank")
+    public void sampleShouldFollowZipfWhenExponentIsPositive() {
+        int[] counts = draw(10, 1.0);
+
+        Assertions.assertEquals(2.0, (double) counts[0] / counts[1], 0.1);
+        Assertions.assertEquals(10.0, (double) counts[0] / counts[9], 1.0);
+    }
+
+    @Test
+    @DisplayName("Should always draw the only rank of a single-element sampler")
+    public void sampleShouldReturnZeroWhenThereIsOneRank() {
+        int[] counts = draw(1, 1.5);
+
+        Assertions.assertEquals(DRAWS, counts[0]);
+    }
+}
@@ -0,0 +1,98 @@
+package com.devsuperior.dscatalog.services.mail;
+
+import com.devsuperior.dscatalog.services.exceptions.EmailException;
+import org.junit.jupiter.api.*;
+
+import java.util.Locale;
+import java.util.Map;
+
+@Tag("Unit")
+public class EmailTemplateEngineTests {
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new EmailTemplateEngine();
+    }
+
+    @Test
+    @DisplayName("Should escape HTML in text placeholders")
+    public void renderShouldEscapeTextPlaceholders() {
+        String result = engine.render("greeting", Locale.ENGLISH, Map.of("name", "<script>alert('x')</script> & co"));
+
+        Assertions.assertEquals("<p>Hello, &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; co!</p>", result);
+    }
+
+    @Test
+    @DisplayName("Should pick the most specific template for the locale")
+    public void renderShouldFallBackThroughLocales() {
+        Map<String, String> values = Map.of("name", "Maria");
+
+        Assertions.assertEquals("<p>Olá, Maria!</p>", engine.render("greeting", Locale.of("pt", "BR"), values));
+        Assertions.assertEquals("<p>Hello, Maria!</p>", engine.render("greeting", Locale.FRENCH, values));
+    }
+
+    @Test
+    @DisplayName("Should cache one compiled template per file whatever the number of locales")
+    public void renderShouldCacheTemplatesPerFile() {
+        Map<String, String> values = Map.of("name", "Maria");
+
+        for (Locale locale : Locale.getAvailableLocales()) {
+            engine.render("greeting", locale, values);
+        }
+
+        Assertions.assertEquals(2, engine.cachedTemplateCount());
+    }
+
+    @Test
+    @DisplayName("Should render the password reset email with escaped values and safe links")
+    public void renderShouldEscapePasswordResetValues() {
+        String result = engine.render("password-reset", Locale.ENGLISH, Map.of(
+                "userName", "Maria \"<b>\"",
+                "userEmail", "maria@gmail.com",
+                "resetLink", "https://dscatalog.com/recover-password/abc?x=1&y=2",
+                "tokenValidityMinutes", 30L
+        ));
+
+        Assertions.assertTrue(result.contains("<p>Hello, Maria &quot;&lt;b&gt;&quot;,</p>"));
+        Assertions.assertTrue(result.contains("<strong>30 minutes</strong>"));
+        Assertions.assertTrue(result.contains("href=\"https://dscatalog.com/recover-password/abc?x=1&amp;y=2\""));
+        Assertions.assertFalse(result.contains("{{"));
+    }
+
+    @Test
+    @DisplayName("Should replace links with unsafe schemes")
+    public void renderShouldRejectUnsafeLinks() {
+        String result = engine.render("password-reset", Locale.ENGLISH, Map.of(
+                "userName", "Maria",
+                "userEmail", "maria@gmail.com",
+                "resetLink", "javascript:alert(1)",
+                "tokenValidityMinutes", 30L
+        ));
+
+        Assertions.assertFalse(result.contains("javascript:"));
+        Assertions.assertTrue(result.contains("href=\"#\""));
+    }
+
+    @Test
+    @DisplayName("Should fail when a placeholder has no value")
+    public void renderShouldThrowWhenValueIsMissing() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> engine.render("greeting", Locale.ENGLISH, Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should fail when the template does not exist")
+    public void renderShouldThrowWhenTemplateDoesNotExist() {
+        Assertions.assertThrows(EmailException.class,
+                () -> engine.render("missing", Locale.ENGLISH, Map.of()));
+    }
+
+    @Test
+    @DisplayName("Should reject templates with unknown placeholder types")
+    public void compileShouldRejectUnknownPlaceholderType() {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> EmailTemplate.compile("broken", "<p>{{js:name}}</p>"));
+    }
+}
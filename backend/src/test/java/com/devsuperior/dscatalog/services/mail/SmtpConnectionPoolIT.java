@@ -0,0 +1,76 @@
+package com.devsuperior.dscatalog.services.mail;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+
+@Tag("Integration")
+public class SmtpConnectionPoolIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@gmail.com", "123456"));
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setUsername("test@gmail.com");
+        mailSender.setPassword("123456");
+        mailSender.getJavaMailProperties().put("mail.smtp.auth", "true");
+
+        pool = new SmtpConnectionPool(mailSender, 2, 100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.closeAll();
+    }
+
+    private MimeMessage message(int number) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("test@gmail.com");
+        helper.setTo("maria@gmail.com");
+        helper.setSubject("Message " + number);
+        helper.setText("Body " + number);
+        return message;
+    }
+
+    @Test
+    @DisplayName("Should send consecutive emails over a single SMTP connection")
+    public void sendShouldReuseConnection() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            pool.send(message(i));
+        }
+
+        Assertions.assertEquals(5, greenMail.getReceivedMessages().length);
+        Assertions.assertEquals(1, pool.getOpenedCount());
+        Assertions.assertEquals(4, pool.getReusedCount());
+    }
+
+    @Test
+    @DisplayName("Should reconnect when the server dropped the pooled connection")
+    public void sendShouldReconnectAfterServerRestart() throws Exception {
+        pool.send(message(1));
+        greenMail.reset();
+        greenMail.setUser("test@gmail.com", "123456");
+
+        pool.send(message(2));
+
+        Assertions.assertEquals(1, greenMail.getReceivedMessages().length);
+        Assertions.assertEquals(2, pool.getOpenedCount());
+    }
+}
@@ -0,0 +1,35 @@
+package com.devsuperior.dscatalog.services.search;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@Tag("Unit")
+public class LongIntHashMapTests {
+
+    @Test
+    @DisplayName("Should behave like a HashMap through puts, overwrites, removals and resizes")
+    public void mapShouldMatchHashMap() {
+        LongIntHashMap map = new LongIntHashMap(0);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                Assertions.assertEquals(removed == null ? LongIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            Assertions.assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Tag("Unit")
+public class ProductCountCacheTests {
+
+    private ProductCountCache cache;
+    private AtomicInteger countQueries;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        countQueries = new AtomicInteger();
+        Mockito.when(productRepository.countProducts(ArgumentMatchers.anyList(), ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> {
+                    countQueries.incrementAndGet();
+                    return 42L;
+                });
+        cache = new ProductCountCache(productRepository, 60L, 15L, 100L);
+    }
+
+    @Test
+    @DisplayName("Should compute the total from the offset when the page is short")
+    public void countShouldUseOffsetWhenPageIsShort() {
+        long total = cache.count(List.of(), "pc", PageRequest.of(2, 10), 3, cache.generation());
+
+        Assertions.assertEquals(23L, total);
+        Assertions.assertEquals(0, countQueries.get());
+    }
+
+    @Test
+    @DisplayName("Should run the count query once per normalized key")
+    public void countShouldBeCachedPerNormalizedKey() {
+        cache.count(List.of(3L, 1L), "PC", PageRequest.of(0, 10), 10, cache.generation());
+        long total = cache.count(List.of(1L, 3L), "pc", PageRequest.of(1, 10), 10, cache.generation());
+
+        Assertions.assertEquals(42L, total);
+        Assertions.assertEquals(1, countQueries.get());
+        Assertions.assertEquals(0.5, cache.hitRatio());
+    }
+
+    @Test
+    @DisplayName("Should run the count query again after a product changes")
+    public void countShouldBeInvalidatedWhenProductChanges() {
+        cache.count(List.of(), "", PageRequest.of(0, 10), 10, cache.generation());
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        cache.count(List.of(), "", PageRequest.of(0, 10), 10, cache.generation());
+
+        Assertions.assertEquals(2, countQueries.get());
+    }
+
+    @Test
+    @DisplayName("Should run the count query again after an import chunk is committed")
+    public void countShouldBeInvalidatedWhenProductsAreInserted() {
+        cache.count(List.of(), "", PageRequest.of(0, 10), 10, cache.generation());
+        cache.onProductsInserted(new ProductsInsertedEvent(List.of(
+                new ProductChangedEvent(5L, "Notebook", Set.of(1L), false))));
+        cache.count(List.of(), "", PageRequest.of(0, 10), 10, cache.generation());
+
+        Assertions.assertEquals(2, countQueries.get());
+    }
+
+    @Test
+    @DisplayName("Should not keep a total counted before a product change")
+    public void putShouldIgnoreTotalCountedBeforeProductChange() {
+        long generation = cache.generation();
+        cache.onProductChanged(ProductChangedEvent.deleted(1L));
+        cache.put(List.of(), "", 7L, generation);
+
+        Assertions.assertEquals(42L, cache.get(List.of(), ""));
+        Assertions.assertEquals(1, countQueries.get());
+    }
+}
@@ -0,0 +1,176 @@
+package com.devsuperior.dscatalog.services.search;
+
+import com.devsuperior.dscatalog.projections.ProductIndexProjection;
+import com.devsuperior.dscatalog.repositories.ProductRepository;
+import com.devsuperior.dscatalog.services.events.ProductChangedEvent;
+import com.devsuperior.dscatalog.services.events.ProductsInsertedEvent;
+import org.junit.jupiter.api.*;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+@Tag("Unit")
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+    private ProductRepository productRepository;
+
+    private record IndexRow(Long id, String name, Long categoryId) implements ProductIndexProjection {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Long getCategoryId() {
+            return categoryId;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        productRepository = Mockito.mock(ProductRepository.class);
+        index = new ProductSearchIndex(productRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+
+        // In the database's name order
+        Mockito.when(productRepository.searchProductsForIndex()).thenReturn(List.of(
+                new IndexRow(3L, "Caixa de Som Eletrônica", 2L),
+                new IndexRow(3L, "Caixa de Som Eletrônica", 3L),
+                new IndexRow(4L, "PC Gamer", 3L),
+                new IndexRow(1L, "PC Gamer Alfa", 3L),
+                new IndexRow(2L, "Smart TV", 2L)));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should match substrings ignoring case and accents")
+    public void searchShouldMatchSubstringIgnoringCaseAndAccents() {
+        Page<Long> result = index.search(List.of(), "ELETRONICA", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of(3L), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should match queries shorter than a trigram")
+    public void searchShouldMatchShortQueries() {
+        Page<Long> result = index.search(List.of(), "tv", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of(2L), result.getContent());
+    }
+
+    @Test
+    @DisplayName("Should filter by category and sort by name")
+    public void searchShouldFilterByCategoryAndSortByName() {
+        Page<Long> result = index.search(List.of(3L), "", PageRequest.of(0, 10, Sort.by("name")));
+
+        Assertions.assertEquals(List.of(3L, 4L, 1L), result.getContent());
+        Assertions.assertEquals(3L, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should page results and keep the total count")
+    public void searchShouldPageResults() {
+        Page<Long> result = index.search(List.of(), "pc gamer", PageRequest.of(1, 1, Sort.by("id")));
+
+        Assertions.assertEquals(List.of(4L), result.getContent());
+        Assertions.assertEquals(2L, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should reflect renamed and deleted products")
+    public void searchShouldReflectChanges() {
+        index.onProductChanged(new ProductChangedEvent(2L, "Smart Watch", Set.of(2L), false));
+        index.onProductChanged(ProductChangedEvent.deleted(4L));
+
+        Assertions.assertTrue(index.search(List.of(), "tv", PageRequest.of(0, 10)).isEmpty());
+        Assertions.assertEquals(List.of(2L), index.search(List.of(), "watch", PageRequest.of(0, 10)).getContent());
+        Assertions.assertEquals(List.of(1L), index.search(List.of(), "gamer", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("Should index every product of an imported chunk")
+    public void searchShouldReflectInsertedChunk() {
+        index.onProductsInserted(new ProductsInsertedEvent(List.of(
+                new ProductChangedEvent(5L, "Notebook Gamer", Set.of(3L), false),
+                new ProductChangedEvent(6L, "Mouse Gamer", Set.of(2L), false))));
+
+        Assertions.assertEquals(List.of(1L, 4L, 5L, 6L),
+                index.search(List.of(), "gamer", PageRequest.of(0, 10, Sort.by("id"))).getContent());
+    }
+
+    @Test
+    @DisplayName("Should sort names in the order the database returned them")
+    public void searchShouldSortByDatabaseNameOrder() {
+        // A binary collation puts upper case first, unlike a case-insensitive comparison
+        Mockito.when(productRepository.searchProductsForIndex()).thenReturn(List.of(
+                new IndexRow(1L, "Zeta", 1L), new IndexRow(2L, "alpha", 1L)));
+        index.rebuild();
+
+        Assertions.assertEquals(List.of(1L, 2L), index.search(List.of(), "", PageRequest.of(0, 10, Sort.by("name"))).getContent());
+    }
+
+    @Test
+    @DisplayName("Should leave name sorts to SQL until changed products are placed in name order")
+    public void supportsShouldRejectNameSortUntilReordered() {
+        index.onProductChanged(new ProductChangedEvent(5L, "Notebook", Set.of(3L), false));
+
+        Assertions.assertFalse(index.supports(Sort.by("name")));
+        Assertions.assertTrue(index.supports(Sort.by("id")));
+
+        Mockito.when(productRepository.searchProductsForIndex()).thenReturn(List.of(
+                new IndexRow(5L, "Notebook", 3L), new IndexRow(2L, "Smart TV", 2L)));
+        index.reorder();
+
+        Assertions.assertTrue(index.supports(Sort.by("name")));
+        Assertions.assertEquals(List.of(5L, 2L), index.search(List.of(), "", PageRequest.of(0, 10, Sort.by("name"))).getContent());
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed while the index is rebuilt")
+    public void rebuildShouldReplayChangesMadeDuringRebuild() {
+        Mockito.when(productRepository.searchProductsForIndex()).thenAnswer(invocation -> {
+            // Committed after the table was read, so the rows below do not contain it
+            index.onProductChanged(new ProductChangedEvent(5L, "Notebook Gamer", Set.of(3L), false));
+            return List.of(new IndexRow(1L, "PC Gamer Alfa", 3L), new IndexRow(2L, "Smart TV", 2L));
+        });
+
+        index.rebuild();
+
+        Assertions.assertEquals(List.of(5L, 1L),
+                index.search(List.of(), "gamer", PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"))).getContent());
+        Assertions.assertTrue(index.search(List.of(), "caixa", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should group the category rows of a product when rebuilding")
+    public void rebuildShouldGroupCategoriesPerProduct() {
+        Mockito.when(productRepository.searchProductsForIndex()).thenReturn(List.of(
+                new IndexRow(1L, "PC Gamer Alfa", 2L), new IndexRow(1L, "PC Gamer Alfa", 3L), new IndexRow(2L, "Smart TV", 2L)));
+
+        index.rebuild();
+
+        Assertions.assertEquals(List.of(1L), index.search(List.of(3L), "", PageRequest.of(0, 10)).getContent());
+        Assertions.assertEquals(List.of(1L, 2L), index.search(List.of(2L), "", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    @DisplayName("Should only support sorting by the indexed columns")
+    public void supportsShouldRejectColumnsOutsideIndex() {
+        Assertions.assertTrue(index.supports(Sort.unsorted()));
+        Assertions.assertTrue(index.supports(Sort.by("name").and(Sort.by(Sort.Direction.DESC, "id"))));
+        Assertions.assertFalse(index.supports(Sort.by("price")));
+        Assertions.assertFalse(index.supports(Sort.by("name", "date")));
+    }
+}
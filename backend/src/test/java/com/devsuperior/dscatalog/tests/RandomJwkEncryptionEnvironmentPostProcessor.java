@@ -0,0 +1,41 @@
+package com.devsuperior.dscatalog.tests;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives every test context a signing key encryption password and salt generated for this test run,
+ * unless the environment or the test already sets one. The values are created once per JVM, so the
+ * cached contexts and the tests that read them all agree.
+ */
+public class RandomJwkEncryptionEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String PASSWORD = "dscatalog.security.jwk.encryption-password";
+    private static final String SALT = "dscatalog.security.jwk.encryption-salt";
+
+    private static final String RANDOM_PASSWORD = new String(Hex.encode(KeyGenerators.secureRandom(32).generateKey()));
+    private static final String RANDOM_SALT = KeyGenerators.string().generateKey();
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Map<String, Object> properties = new HashMap<>();
+        if (!StringUtils.hasText(environment.getProperty(PASSWORD))) {
+            properties.put(PASSWORD, RANDOM_PASSWORD);
+        }
+        if (!StringUtils.hasText(environment.getProperty(SALT))) {
+            properties.put(SALT, RANDOM_SALT);
+        }
+        if (!properties.isEmpty()) {
+            // application.yml declares both keys blank, so these have to take precedence over it
+            environment.getPropertySources().addFirst(new MapPropertySource("randomJwkEncryption", properties));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.devsuperior.dscatalog.util;
+
+import com.devsuperior.dscatalog.projections.IdProjection;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+@Tag("Unit")
+public class UtilsTests {
+
+    private record Row(Long id) implements IdProjection<Long> {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the entities in the order of the ids")
+    public void replaceSortShouldFollowOrderedIds() {
+        List<Row> ordered = List.of(new Row(3L), new Row(1L), new Row(2L));
+        List<Row> unordered = List.of(new Row(1L), new Row(2L), new Row(3L));
+
+        List<? extends IdProjection<Long>> result = Utils.replaceSort(ordered, unordered);
+
+        Assertions.assertEquals(List.of(3L, 1L, 2L), result.stream().map(IdProjection::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should leave out ids that have no entity anymore")
+    public void replaceSortShouldSkipMissingEntities() {
+        List<Row> ordered = List.of(new Row(3L), new Row(1L), new Row(2L));
+        List<Row> unordered = List.of(new Row(2L), new Row(3L));
+
+        List<? extends IdProjection<Long>> result = Utils.replaceSort(ordered, unordered);
+
+        Assertions.assertEquals(List.of(3L, 2L), result.stream().map(IdProjection::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should accept gzip only when the header allows it with a positive q-value")
+    public void acceptsGzipShouldHonourQualityValues() {
+        Assertions.assertTrue(Utils.acceptsGzip("gzip, deflate"));
+        Assertions.assertTrue(Utils.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        Assertions.assertTrue(Utils.acceptsGzip("br, *;q=0.1"));
+
+        Assertions.assertFalse(Utils.acceptsGzip(""));
+        Assertions.assertFalse(Utils.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(Utils.acceptsGzip("gzip;q=0.000, *"));
+        Assertions.assertFalse(Utils.acceptsGzip("x-notgzip, gzipped"));
+        Assertions.assertFalse(Utils.acceptsGzip("identity, *;q=0"));
+    }
+}
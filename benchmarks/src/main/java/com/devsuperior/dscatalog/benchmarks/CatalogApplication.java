@@ -0,0 +1,34 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.DscatalogApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on the seeded H2 test profile, on a random port and without the outbox
+ * poller or SQL logging, for benchmarks that go through the services.
+ */
+final class CatalogApplication {
+
+    private CatalogApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--dscatalog.email.outbox.poll-interval-ms=3600000"
+        ));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(DscatalogApplication.class).run(args.toArray(String[]::new));
+    }
+}
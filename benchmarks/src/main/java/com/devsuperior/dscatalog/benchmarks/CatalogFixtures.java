@@ -0,0 +1,60 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entities shaped like the seeded catalog: a paragraph of description and a few categories each.
+ */
+final class CatalogFixtures {
+
+    static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+            + "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation ullamco "
+            + "laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in voluptate "
+            + "velit esse cillum dolore eu fugiat nulla pariatur.";
+
+    private CatalogFixtures() {
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            categories.add(Category.builder().id(id).name("Categoria " + id).products(new HashSet<>()).build());
+        }
+        return categories;
+    }
+
+    static Product product(long id, List<Category> categories, int categoriesPerProduct) {
+        Set<Category> productCategories = new HashSet<>();
+        for (int i = 0; i < categoriesPerProduct; i++) {
+            productCategories.add(categories.get((int) ((id + i) % categories.size())));
+        }
+        return Product.builder()
+                .id(id)
+                .name("PC Gamer " + id)
+                .description(DESCRIPTION)
+                .price(1200.0 + id)
+                .imgUrl("https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/" + id + "-big.jpg")
+                .date(OffsetDateTime.of(2020, 7, 14, 10, 0, 0, 0, ZoneOffset.UTC))
+                .categories(productCategories)
+                .build();
+    }
+
+    static List<ProductResponse> productResponses(int count) {
+        List<Category> categories = categories(10);
+        List<ProductResponse> responses = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Product product = product(id, categories, 3);
+            responses.add(new ProductResponse(product, product.getCategories()));
+        }
+        return responses;
+    }
+}
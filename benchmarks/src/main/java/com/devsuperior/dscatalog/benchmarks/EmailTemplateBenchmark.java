@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.services.mail.EmailTemplateEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the password reset email with the compiled template against the string concatenation
+ * it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String USER_NAME = "Maria";
+    private static final String USER_EMAIL = "maria@gmail.com";
+    private static final String RESET_LINK = "http://localhost:5173/recover-passwords/0b4b8a3e-5d0c-4f5e-9a53-2c7e1f0d9c11";
+    private static final Long TOKEN_VALIDITY_MINUTES = 30L;
+
+    private EmailTemplateEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine();
+    }
+
+    @Benchmark
+    public String template() {
+        return engine.render("password-reset", Locale.ENGLISH, Map.of(
+                "userName", USER_NAME,
+                "userEmail", USER_EMAIL,
+                "resetLink", RESET_LINK,
+                "tokenValidityMinutes", TOKEN_VALIDITY_MINUTES
+        ));
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return LegacyPasswordResetEmail.build(USER_NAME, USER_EMAIL, RESET_LINK, TOKEN_VALIDITY_MINUTES);
+    }
+}
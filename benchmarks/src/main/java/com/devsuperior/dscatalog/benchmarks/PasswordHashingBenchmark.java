@@ -0,0 +1,48 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.config.crypto.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks a password with BCrypt at the strength the application uses, directly and through the
+ * bounded hashing pool that every login goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    // Same default strength as the BCryptPasswordEncoder built in AppConfig
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bounded = new BoundedPasswordEncoder(bcrypt, 0, 64, Duration.ofSeconds(1));
+        hash = bcrypt.encode("123456");
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches("123456", hash);
+    }
+
+    @Benchmark
+    public boolean boundedMatches() {
+        return bounded.matches("123456", hash);
+    }
+}
@@ -0,0 +1,92 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.requests.CategoryProductRequest;
+import com.devsuperior.dscatalog.dto.requests.ProductRequest;
+import com.devsuperior.dscatalog.dto.responses.ProductBatchResponse;
+import com.devsuperior.dscatalog.services.ProductBatchService;
+import com.devsuperior.dscatalog.services.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts a batch of products one request at a time through ProductService and as a single JSON
+ * stream through ProductBatchService. The rows are removed after every iteration so each one
+ * starts from the seeded catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProductInsertBenchmark {
+
+    // Highest id seeded by import.sql
+    private static final long SEEDED_PRODUCTS = 25;
+
+    @Param({"100", "1000"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductBatchService productBatchService;
+    private JdbcTemplate jdbcTemplate;
+    private List<ProductRequest> requests;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        context = CatalogApplication.start();
+        productService = context.getBean(ProductService.class);
+        productBatchService = context.getBean(ProductBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        requests = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            requests.add(ProductRequest.builder()
+                    .name("Benchmark product " + i)
+                    .description(CatalogFixtures.DESCRIPTION)
+                    .price(100.0 + i)
+                    .imgUrl("https://example.com/products/" + i + ".jpg")
+                    .date(OffsetDateTime.of(2020, 7, 14, 10, 0, 0, 0, ZoneOffset.UTC))
+                    .categories(List.of(new CategoryProductRequest((long) (i % 3) + 1)))
+                    .build());
+        }
+        json = context.getBean(ObjectMapper.class).writeValueAsBytes(requests);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInserted() {
+        jdbcTemplate.update("DELETE FROM tb_product_category WHERE product_id > ?", SEEDED_PRODUCTS);
+        jdbcTemplate.update("DELETE FROM tb_product WHERE id > ?", SEEDED_PRODUCTS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void insertOneByOne(Blackhole blackhole) {
+        for (ProductRequest request : requests) {
+            blackhole.consume(productService.insert(request));
+        }
+    }
+
+    @Benchmark
+    public ProductBatchResponse insertBatch() throws IOException {
+        return productBatchService.insertAll(new ByteArrayInputStream(json));
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.projections.IdProjection;
+import com.devsuperior.dscatalog.util.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-orders hydrated entities to match the id page, as done after every catalog page query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReplaceSortBenchmark {
+
+    @Param({"12", "24", "100"})
+    private int pageSize;
+
+    private List<IdProjection<Long>> ordered;
+    private List<IdProjection<Long>> unordered;
+
+    @Setup
+    public void setUp() {
+        ordered = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            long value = id * 7919;
+            ordered.add(() -> value);
+        }
+        unordered = new ArrayList<>(ordered);
+        Collections.shuffle(unordered, new Random(42));
+    }
+
+    @Benchmark
+    public List<? extends IdProjection<Long>> replaceSort() {
+        return Utils.replaceSort(ordered, unordered);
+    }
+}
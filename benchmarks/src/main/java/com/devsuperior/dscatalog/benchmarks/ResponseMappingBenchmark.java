@@ -0,0 +1,47 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.entities.Category;
+import com.devsuperior.dscatalog.entities.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the response DTOs from entities, once per product and category on every catalog response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Category category;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = CatalogFixtures.categories(10);
+        category = categories.getFirst();
+        product = CatalogFixtures.product(1L, categories, 3);
+    }
+
+    @Benchmark
+    public CategoryResponse categoryResponse() {
+        return new CategoryResponse(category);
+    }
+
+    @Benchmark
+    public ProductResponse productResponse() {
+        return new ProductResponse(product);
+    }
+
+    @Benchmark
+    public ProductResponse productResponseWithCategories() {
+        return new ProductResponse(product, product.getCategories());
+    }
+}
@@ -0,0 +1,78 @@
+package com.devsuperior.dscatalog.benchmarks;
+
+import com.devsuperior.dscatalog.dto.responses.CategoryResponse;
+import com.devsuperior.dscatalog.dto.responses.ProductResponse;
+import com.devsuperior.dscatalog.services.CategoryService;
+import com.devsuperior.dscatalog.services.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads categories and products through the services with the Hibernate second-level and query
+ * caches switched on and off. {@code -p generatedProducts=1000000} runs it against a generated
+ * catalog instead of the 25 seeded products.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    @Param({"0"})
+    private long generatedProducts;
+
+    private ConfigurableApplicationContext context;
+    private CategoryService categoryService;
+    private ProductService productService;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = generatedProducts > 0
+                ? CatalogApplication.start("L2_CACHE_ENABLED=" + secondLevelCache,
+                        "spring.profiles.include=datagen",
+                        "dscatalog.datagen.exit-when-done=false",
+                        "dscatalog.datagen.products=" + generatedProducts)
+                : CatalogApplication.start("L2_CACHE_ENABLED=" + secondLevelCache);
+        categoryService = context.getBean(CategoryService.class);
+        productService = context.getBean(ProductService.class);
+        pageable = PageRequest.of(0, 12, Sort.by("name"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CategoryResponse categoryFindById() {
+        return categoryService.findById(1L);
+    }
+
+    @Benchmark
+    public List<CategoryResponse> categoryFindAll() {
+        return categoryService.findAll();
+    }
+
+    @Benchmark
+    public ProductResponse productFindById() {
+        return productService.findById(1L);
+    }
+
+    @Benchmark
+    public Page<ProductResponse> productFindAll() {
+        return productService.findAll(pageable);
+    }
+}
@@ -0,0 +1,27 @@
+package com.devsuperior.dscatalog.services;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the categoryId filter of the catalog search. Lives in the services package because the
+ * parser is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CategoryIdParsingBenchmark {
+
+    @Param({"0", "3", "1,2,3,4,5,6,7,8"})
+    private String categoryId;
+
+    @Benchmark
+    public List<Long> parseCategoryIds() {
+        return ProductService.parseCategoryIds(categoryId);
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Runs a simulation against the application with platform threads and then with virtual threads
+# and prints the throughput and the 99th percentile of each run side by side.
+#
+#   ./compare-thread-modes.sh [-Dgatling.simulationClass=...] [-Dduration=300] ...
+#
+# Arguments are passed to the Gatling run. The application jar must have been built beforehand
+# (mvn -Dmaven.test.skip=true package at the repository root).
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAR=../backend/target/dscatalog-0.0.1-SNAPSHOT-exec.jar
+PORT=${PORT:-8080}
+RESULTS=target/thread-modes
+# Signing keys only live in the in-memory database of each run, so throwaway secrets will do
+export JWK_ENCRYPTION_PASSWORD=${JWK_ENCRYPTION_PASSWORD:-$(openssl rand -hex 16)}
+export JWK_ENCRYPTION_SALT=${JWK_ENCRYPTION_SALT:-$(openssl rand -hex 8)}
+mkdir -p "$RESULTS"
+
+if [[ ! -f "$JAR" ]]; then
+    echo "Application jar not found at $JAR" >&2
+    exit 1
+fi
+
+run() {
+    local mode=$1
+    shift
+    echo "Running with VIRTUAL_THREADS_ENABLED=$mode"
+
+    VIRTUAL_THREADS_ENABLED=$mode EMAIL_HOST=localhost EMAIL_PORT=3025 \
+        java -jar "$JAR" --server.port="$PORT" --spring.jpa.show-sql=false > "$RESULTS/app-$mode.log" 2>&1 &
+    local app=$!
+    trap "kill $app 2> /dev/null || true" EXIT
+
+    until curl -sf -o /dev/null "http://localhost:$PORT/categories"; do
+        if ! kill -0 "$app" 2> /dev/null; then
+            echo "Application did not start, see $RESULTS/app-$mode.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+
+    mvn -B gatling:test -DbaseUrl="http://localhost:$PORT" "$@" > "$RESULTS/gatling-$mode.log" 2>&1 \
+        || echo "Assertions failed with VIRTUAL_THREADS_ENABLED=$mode, see $RESULTS/gatling-$mode.log"
+
+    kill "$app"
+    wait "$app" 2> /dev/null || true
+    trap - EXIT
+}
+
+summary() {
+    local mode=$1
+    local log="$RESULTS/gatling-$mode.log"
+    local throughput p99
+    throughput=$(grep -m1 "mean requests/sec" "$log" | awk '{print $4}' || true)
+    p99=$(grep -m1 "response time 99th percentile" "$log" | awk '{print $6}' || true)
+    printf "%-10s %15s %15s\n" "$mode" "${throughput:--}" "${p99:--}"
+}
+
+run false "$@"
+run true "$@"
+
+printf "\n%-10s %15s %15s\n" "virtual" "requests/sec" "p99 (ms)"
+summary false
+summary true
@@ -0,0 +1,51 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import io.gatling.javaapi.core.OpenInjectionStep;
+import io.gatling.javaapi.core.PopulationBuilder;
+import io.gatling.javaapi.core.Simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.devsuperior.dscatalog.loadtests.CatalogRequests.*;
+import static com.devsuperior.dscatalog.loadtests.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+
+/**
+ * Steady mix of the application's traffic: anonymous catalog browsing, logins, back-office product
+ * writes and password recoveries, each started at its own rate. The run fails when an endpoint
+ * misses its latency percentiles or too many requests fail.
+ */
+public class CatalogMixSimulation extends Simulation {
+
+    private final SmtpSink smtpSink = new SmtpSink();
+
+    {
+        List<PopulationBuilder> scenarios = new ArrayList<>();
+        scenarios.add(scenario("Catalog browsing").exec(browse()).injectOpen(steady(BROWSE_RATE)));
+        scenarios.add(scenario("Logins").exec(login(200)).injectOpen(steady(LOGIN_RATE)));
+        scenarios.add(scenario("Back-office writes").exec(backOffice()).injectOpen(steady(WRITE_RATE)));
+        scenarios.add(scenario("Password recovery").exec(passwordRecovery()).injectOpen(steady(RECOVERY_RATE)));
+
+        setUp(scenarios)
+                .protocols(protocol())
+                .assertions(Thresholds.all());
+    }
+
+    @Override
+    public void before() {
+        smtpSink.start();
+    }
+
+    @Override
+    public void after() {
+        smtpSink.stop();
+    }
+
+    static OpenInjectionStep[] steady(double rate) {
+        return new OpenInjectionStep[]{
+                rampUsersPerSec(0).to(rate).during(RAMP_UP),
+                constantUsersPerSec(rate).during(DURATION)
+        };
+    }
+}
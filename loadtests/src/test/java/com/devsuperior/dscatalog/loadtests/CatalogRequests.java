@@ -0,0 +1,144 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static com.devsuperior.dscatalog.loadtests.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Requests of the load test scenarios. Request names are the endpoint templates, so Gatling
+ * reports and the thresholds are per endpoint rather than per URL.
+ */
+final class CatalogRequests {
+
+    static final String CATEGORIES = "GET /categories";
+    static final String PRODUCTS = "GET /products";
+    static final String PRODUCTS_SEARCH = "GET /products/test";
+    static final String PRODUCT = "GET /products/{id}";
+    static final String TOKEN = "POST /oauth2/token";
+    static final String INSERT_PRODUCT = "POST /products";
+    static final String UPDATE_PRODUCT = "PUT /products/{id}";
+    static final String DELETE_PRODUCT = "DELETE /products/{id}";
+    static final String RECOVER_TOKEN = "POST /auth/recover-token";
+
+    static final List<String> READS = List.of(CATEGORIES, PRODUCTS, PRODUCTS_SEARCH, PRODUCT);
+    static final List<String> WRITES = List.of(INSERT_PRODUCT, UPDATE_PRODUCT, DELETE_PRODUCT, RECOVER_TOKEN);
+
+    private static final List<String> SEARCH_TERMS = List.of("", "", "pc", "gamer", "the", "smart", "ção", "câmera");
+    private static final List<String> USERNAMES = List.of(ADMIN_USERNAME, OPERATOR_USERNAME);
+
+    private static final Duration MIN_PAUSE = Duration.ofMillis(100);
+    private static final Duration MAX_PAUSE = Duration.ofMillis(500);
+
+    private CatalogRequests() {
+    }
+
+    static HttpProtocolBuilder protocol() {
+        return http.baseUrl(BASE_URL)
+                .acceptHeader("application/json")
+                .acceptEncodingHeader("gzip")
+                .userAgentHeader("dscatalog-loadtests");
+    }
+
+    static ChainBuilder browse() {
+        return exec(http(CATEGORIES).get("/categories").check(status().in(200, 304)))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .feed(catalogFeeder())
+                .exec(http(PRODUCTS).get("/products")
+                        .queryParam("page", "#{page}")
+                        .queryParam("size", 12)
+                        .queryParam("sort", "name")
+                        .check(status().in(200, 304)))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .exec(http(PRODUCTS_SEARCH).get("/products/test")
+                        .queryParam("name", "#{name}")
+                        .queryParam("categoryId", "#{categoryId}")
+                        .queryParam("page", 0)
+                        .queryParam("size", 12)
+                        .check(status().in(200, 304)))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .exec(http(PRODUCT).get("/products/#{productId}").check(status().in(200, 304)));
+    }
+
+    static ChainBuilder login(Integer... statuses) {
+        return feed(userFeeder())
+                .exec(token()
+                        .check(status().in(statuses))
+                        .checkIf((response, session) -> response.status().code() == 200)
+                        .then(jsonPath("$.access_token").exists())
+                        .checkIf((response, session) -> response.status().code() == 503)
+                        .then(header("Retry-After").exists()));
+    }
+
+    static ChainBuilder backOffice() {
+        return exec(session -> session.set("username", ADMIN_USERNAME))
+                .exec(token().check(status().is(200), jsonPath("$.access_token").saveAs("accessToken")))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .exec(http(INSERT_PRODUCT).post("/products")
+                        .header("Authorization", "Bearer #{accessToken}")
+                        .body(StringBody(session -> productJson("Produto de carga " + session.userId())))
+                        .asJson()
+                        .check(status().is(201), jsonPath("$.id").saveAs("productId")))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .exec(http(UPDATE_PRODUCT).put("/products/#{productId}")
+                        .header("Authorization", "Bearer #{accessToken}")
+                        .body(StringBody(session -> productJson("Produto de carga alterado " + session.userId())))
+                        .asJson()
+                        .check(status().is(200)))
+                .pause(MIN_PAUSE, MAX_PAUSE)
+                .exec(http(DELETE_PRODUCT).delete("/products/#{productId}")
+                        .header("Authorization", "Bearer #{accessToken}")
+                        .check(status().is(204)));
+    }
+
+    static ChainBuilder passwordRecovery() {
+        return feed(userFeeder())
+                .exec(http(RECOVER_TOKEN).post("/auth/recover-token")
+                        .body(StringBody("{\"email\": \"#{username}\"}"))
+                        .asJson()
+                        .check(status().is(204)));
+    }
+
+    private static HttpRequestActionBuilder token() {
+        return http(TOKEN).post("/oauth2/token")
+                .basicAuth(CLIENT_ID, CLIENT_SECRET)
+                .formParam("grant_type", "password")
+                .formParam("username", "#{username}")
+                .formParam("password", PASSWORD);
+    }
+
+    private static String productJson(String name) {
+        int categoryId = ThreadLocalRandom.current().nextInt(1, MAX_CATEGORY_ID + 1);
+        return """
+                {"name": "%s", "description": "Criado pelo teste de carga", "price": 99.9,
+                 "imgUrl": "https://example.com/load.jpg", "date": "2024-01-01T10:00:00Z",
+                 "categories": [{"id": %d}]}
+                """.formatted(name, categoryId);
+    }
+
+    private static Iterator<Map<String, Object>> catalogFeeder() {
+        return Stream.generate(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return Map.<String, Object>of(
+                    "page", random.nextInt(Math.max(1, MAX_PRODUCT_ID / 12)),
+                    "name", SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size())),
+                    "categoryId", random.nextInt(MAX_CATEGORY_ID + 1),
+                    "productId", random.nextInt(1, MAX_PRODUCT_ID + 1));
+        }).iterator();
+    }
+
+    private static Iterator<Map<String, Object>> userFeeder() {
+        return Stream.generate(() -> Map.<String, Object>of(
+                "username", USERNAMES.get(ThreadLocalRandom.current().nextInt(USERNAMES.size())))).iterator();
+    }
+}
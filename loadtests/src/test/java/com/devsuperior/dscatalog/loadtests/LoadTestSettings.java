@@ -0,0 +1,55 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import java.time.Duration;
+
+/**
+ * Target, load and thresholds of a run, read from system properties so the same simulations run
+ * against H2 or PostgreSQL and at any rate, e.g. {@code -DbaseUrl=http://localhost:8080 -Dbrowse.rate=50}.
+ */
+final class LoadTestSettings {
+
+    static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    static final String CLIENT_ID = System.getProperty("clientId", "myclientid");
+    static final String CLIENT_SECRET = System.getProperty("clientSecret", "myclientsecret");
+
+    // Seeded by import.sql: maria is ADMIN and OPERATOR, alex is OPERATOR
+    static final String ADMIN_USERNAME = System.getProperty("admin.username", "maria@gmail.com");
+    static final String OPERATOR_USERNAME = System.getProperty("operator.username", "alex@gmail.com");
+    static final String PASSWORD = System.getProperty("password", "123456");
+
+    // Raise after loading a larger catalog with the datagen profile
+    static final int MAX_PRODUCT_ID = Integer.getInteger("catalog.maxProductId", 25);
+    static final int MAX_CATEGORY_ID = Integer.getInteger("catalog.maxCategoryId", 3);
+
+    static final Duration RAMP_UP = Duration.ofSeconds(Integer.getInteger("rampUp", 30));
+    static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("duration", 120));
+
+    // Users started per second by each scenario
+    static final double BROWSE_RATE = doubleProperty("browse.rate", 20);
+    static final double LOGIN_RATE = doubleProperty("login.rate", 2);
+    static final double WRITE_RATE = doubleProperty("write.rate", 1);
+    static final double RECOVERY_RATE = doubleProperty("recovery.rate", 0.5);
+
+    // Logins fired at once by LoginStormSimulation
+    static final int LOGIN_STORM_USERS = Integer.getInteger("loginStorm.users", 200);
+
+    // Port of the SMTP stand-in the application sends to; 0 leaves SMTP to something else
+    static final int SMTP_PORT = Integer.getInteger("smtp.port", 3025);
+    static final String SMTP_USERNAME = System.getProperty("smtp.username", "test@gmail.com");
+    static final String SMTP_PASSWORD = System.getProperty("smtp.password", "123456");
+
+    // Pass/fail thresholds, in milliseconds and percent of requests
+    static final int READ_P95 = Integer.getInteger("threshold.read.p95", 250);
+    static final int READ_P99 = Integer.getInteger("threshold.read.p99", 750);
+    static final int LOGIN_P95 = Integer.getInteger("threshold.login.p95", 1500);
+    static final int WRITE_P95 = Integer.getInteger("threshold.write.p95", 500);
+    static final double MAX_FAILED_PERCENT = doubleProperty("threshold.failed.percent", 1.0);
+
+    private LoadTestSettings() {
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
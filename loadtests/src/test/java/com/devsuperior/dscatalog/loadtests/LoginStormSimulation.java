@@ -0,0 +1,30 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import io.gatling.javaapi.core.Simulation;
+
+import java.time.Duration;
+
+import static com.devsuperior.dscatalog.loadtests.CatalogRequests.*;
+import static com.devsuperior.dscatalog.loadtests.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+
+/**
+ * Fires a burst of logins at once while the catalog is being browsed. Logins beyond what the
+ * password hashing pool can queue are expected to be shed with 503 and Retry-After; the run fails
+ * if catalog latency degrades past the read thresholds meanwhile.
+ */
+public class LoginStormSimulation extends Simulation {
+
+    {
+        Duration stormDelay = RAMP_UP.plusSeconds(DURATION.toSeconds() / 3);
+
+        setUp(
+                scenario("Catalog browsing").exec(browse()).injectOpen(CatalogMixSimulation.steady(BROWSE_RATE)),
+                scenario("Login storm").exec(login(200, 503)).injectOpen(
+                        nothingFor(stormDelay),
+                        atOnceUsers(LOGIN_STORM_USERS))
+        )
+                .protocols(protocol())
+                .assertions(Thresholds.reads());
+    }
+}
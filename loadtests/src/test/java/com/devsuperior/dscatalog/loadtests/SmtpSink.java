@@ -0,0 +1,36 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.devsuperior.dscatalog.loadtests.LoadTestSettings.*;
+
+/**
+ * Local SMTP server standing in for the real one during a run, so password recovery traffic
+ * exercises the outbox and the SMTP pool without sending email anywhere. The application has to
+ * be started with {@code EMAIL_HOST=localhost} and {@code EMAIL_PORT} set to {@code smtp.port}.
+ */
+final class SmtpSink {
+
+    private static final Logger log = LoggerFactory.getLogger(SmtpSink.class);
+
+    private GreenMail greenMail;
+
+    void start() {
+        if (SMTP_PORT <= 0) {
+            return;
+        }
+        greenMail = new GreenMail(new ServerSetup(SMTP_PORT, null, ServerSetup.PROTOCOL_SMTP));
+        greenMail.setUser(SMTP_USERNAME, SMTP_PASSWORD);
+        greenMail.start();
+    }
+
+    void stop() {
+        if (greenMail != null) {
+            log.info("SMTP stand-in received {} emails", greenMail.getReceivedMessages().length);
+            greenMail.stop();
+        }
+    }
+}
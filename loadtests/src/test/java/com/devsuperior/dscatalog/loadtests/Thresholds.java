@@ -0,0 +1,38 @@
+package com.devsuperior.dscatalog.loadtests;
+
+import io.gatling.javaapi.core.Assertion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.devsuperior.dscatalog.loadtests.CatalogRequests.*;
+import static com.devsuperior.dscatalog.loadtests.LoadTestSettings.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+
+/**
+ * Pass/fail criteria shared by the simulations, per endpoint and taken from {@link LoadTestSettings}.
+ */
+final class Thresholds {
+
+    private Thresholds() {
+    }
+
+    static List<Assertion> reads() {
+        List<Assertion> assertions = new ArrayList<>();
+        assertions.add(global().failedRequests().percent().lte(MAX_FAILED_PERCENT));
+        for (String read : READS) {
+            assertions.add(details(read).responseTime().percentile(95.0).lte(READ_P95));
+            assertions.add(details(read).responseTime().percentile(99.0).lte(READ_P99));
+        }
+        return assertions;
+    }
+
+    static List<Assertion> all() {
+        List<Assertion> assertions = reads();
+        for (String write : WRITES) {
+            assertions.add(details(write).responseTime().percentile(95.0).lte(WRITE_P95));
+        }
+        assertions.add(details(TOKEN).responseTime().percentile(95.0).lte(LOGIN_P95));
+        return assertions;
+    }
+}